@@ -1,5 +1,9 @@
 package com.mycompany.myapp.config;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +17,42 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final EntityHistory entityHistory = new EntityHistory();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Datasource datasource = new Datasource();
+
+    private final Cache cache = new Cache();
+
+    private final Security security = new Security();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public EntityHistory getEntityHistory() {
+        return entityHistory;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +67,569 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class EntityHistory {
+
+        private int relayBatchSize = 500;
+
+        private long relayIntervalMs = 500;
+
+        private int checkpointInterval = 20;
+
+        private String codec = "deflate-dict-v1";
+
+        private int compressionMinSize = 64;
+
+        private int reconstructionCacheSize = 1000;
+
+        private int partitionsAhead = 3;
+
+        private int retentionMonths = 0;
+
+        private int sinkBacklogSize = 10000;
+
+        private long exportTimeoutMs = 3600000;
+
+        private long changeStreamTimeoutMs = 300000;
+
+        public int getRelayBatchSize() {
+            return relayBatchSize;
+        }
+
+        public void setRelayBatchSize(int relayBatchSize) {
+            this.relayBatchSize = relayBatchSize;
+        }
+
+        public long getRelayIntervalMs() {
+            return relayIntervalMs;
+        }
+
+        public void setRelayIntervalMs(long relayIntervalMs) {
+            this.relayIntervalMs = relayIntervalMs;
+        }
+
+        public int getCheckpointInterval() {
+            return checkpointInterval;
+        }
+
+        public void setCheckpointInterval(int checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+        }
+
+        public String getCodec() {
+            return codec;
+        }
+
+        public void setCodec(String codec) {
+            this.codec = codec;
+        }
+
+        public int getCompressionMinSize() {
+            return compressionMinSize;
+        }
+
+        public void setCompressionMinSize(int compressionMinSize) {
+            this.compressionMinSize = compressionMinSize;
+        }
+
+        public int getReconstructionCacheSize() {
+            return reconstructionCacheSize;
+        }
+
+        public void setReconstructionCacheSize(int reconstructionCacheSize) {
+            this.reconstructionCacheSize = reconstructionCacheSize;
+        }
+
+        public int getPartitionsAhead() {
+            return partitionsAhead;
+        }
+
+        public void setPartitionsAhead(int partitionsAhead) {
+            this.partitionsAhead = partitionsAhead;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public int getSinkBacklogSize() {
+            return sinkBacklogSize;
+        }
+
+        public void setSinkBacklogSize(int sinkBacklogSize) {
+            this.sinkBacklogSize = sinkBacklogSize;
+        }
+
+        public long getExportTimeoutMs() {
+            return exportTimeoutMs;
+        }
+
+        public void setExportTimeoutMs(long exportTimeoutMs) {
+            this.exportTimeoutMs = exportTimeoutMs;
+        }
+
+        public long getChangeStreamTimeoutMs() {
+            return changeStreamTimeoutMs;
+        }
+
+        public void setChangeStreamTimeoutMs(long changeStreamTimeoutMs) {
+            this.changeStreamTimeoutMs = changeStreamTimeoutMs;
+        }
+    }
+
+    public static class Bulk {
+
+        private int chunkSize = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Datasource {
+
+        private List<Replica> replicas = new ArrayList<>();
+
+        private long healthCheckIntervalMs = 5000;
+
+        private long maxReplicationLagMs = 10000;
+
+        private String replicationLagQuery;
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public long getHealthCheckIntervalMs() {
+            return healthCheckIntervalMs;
+        }
+
+        public void setHealthCheckIntervalMs(long healthCheckIntervalMs) {
+            this.healthCheckIntervalMs = healthCheckIntervalMs;
+        }
+
+        public long getMaxReplicationLagMs() {
+            return maxReplicationLagMs;
+        }
+
+        public void setMaxReplicationLagMs(long maxReplicationLagMs) {
+            this.maxReplicationLagMs = maxReplicationLagMs;
+        }
+
+        public String getReplicationLagQuery() {
+            return replicationLagQuery;
+        }
+
+        public void setReplicationLagQuery(String replicationLagQuery) {
+            this.replicationLagQuery = replicationLagQuery;
+        }
+
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
+    public static class Cache {
+
+        private String diskPath = System.getProperty("java.io.tmpdir") + "/jhipsterListener-cache";
+
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public static class Region {
+
+            private Long maxEntries;
+
+            private Long timeToLiveSeconds;
+
+            private long offHeapMb = 0;
+
+            private long diskMb = 0;
+
+            private boolean diskPersistent = false;
+
+            private int warmUpSize = 0;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(long diskMb) {
+                this.diskMb = diskMb;
+            }
+
+            public boolean isDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+
+            public int getWarmUpSize() {
+                return warmUpSize;
+            }
+
+            public void setWarmUpSize(int warmUpSize) {
+                this.warmUpSize = warmUpSize;
+            }
+        }
+
+        public static class WarmUp {
+
+            private int threads = 4;
+
+            private int batchSize = 100;
+
+            private long timeoutMs = 60000;
+
+            private String snapshotPath;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public long getTimeoutMs() {
+                return timeoutMs;
+            }
+
+            public void setTimeoutMs(long timeoutMs) {
+                this.timeoutMs = timeoutMs;
+            }
+
+            public String getSnapshotPath() {
+                return snapshotPath;
+            }
+
+            public void setSnapshotPath(String snapshotPath) {
+                this.snapshotPath = snapshotPath;
+            }
+        }
+
+        public static class Invalidation {
+
+            private int port = 0;
+
+            private String bindAddress = "127.0.0.1";
+
+            private List<String> members = new ArrayList<>();
+
+            private long flushIntervalMs = 20;
+
+            public int getPort() {
+                return port;
+            }
+
+            public void setPort(int port) {
+                this.port = port;
+            }
+
+            public String getBindAddress() {
+                return bindAddress;
+            }
+
+            public void setBindAddress(String bindAddress) {
+                this.bindAddress = bindAddress;
+            }
+
+            public List<String> getMembers() {
+                return members;
+            }
+
+            public void setMembers(List<String> members) {
+                this.members = members;
+            }
+
+            public long getFlushIntervalMs() {
+                return flushIntervalMs;
+            }
+
+            public void setFlushIntervalMs(long flushIntervalMs) {
+                this.flushIntervalMs = flushIntervalMs;
+            }
+        }
+    }
+
+    public static class Security {
+
+        private final TokenCache tokenCache = new TokenCache();
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        private final LoginRateLimit loginRateLimit = new LoginRateLimit();
+
+        private final TokenRevocation tokenRevocation = new TokenRevocation();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public LoginRateLimit getLoginRateLimit() {
+            return loginRateLimit;
+        }
+
+        public TokenRevocation getTokenRevocation() {
+            return tokenRevocation;
+        }
+
+        public static class TokenCache {
+
+            private int maxEntries = 10000;
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+
+        public static class PasswordHashing {
+
+            private String algorithm = "bcrypt";
+
+            private int bcryptStrength = 10;
+
+            private int pbkdf2Iterations = 310000;
+
+            private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+            private int queueCapacity = 100;
+
+            public String getAlgorithm() {
+                return algorithm;
+            }
+
+            public void setAlgorithm(String algorithm) {
+                this.algorithm = algorithm;
+            }
+
+            public int getBcryptStrength() {
+                return bcryptStrength;
+            }
+
+            public void setBcryptStrength(int bcryptStrength) {
+                this.bcryptStrength = bcryptStrength;
+            }
+
+            public int getPbkdf2Iterations() {
+                return pbkdf2Iterations;
+            }
+
+            public void setPbkdf2Iterations(int pbkdf2Iterations) {
+                this.pbkdf2Iterations = pbkdf2Iterations;
+            }
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+
+        public static class LoginRateLimit {
+
+            private int usernameLimit = 10;
+
+            private int ipLimit = 100;
+
+            private long windowSeconds = 60;
+
+            private int stripes = 65536;
+
+            public int getUsernameLimit() {
+                return usernameLimit;
+            }
+
+            public void setUsernameLimit(int usernameLimit) {
+                this.usernameLimit = usernameLimit;
+            }
+
+            public int getIpLimit() {
+                return ipLimit;
+            }
+
+            public void setIpLimit(int ipLimit) {
+                this.ipLimit = ipLimit;
+            }
+
+            public long getWindowSeconds() {
+                return windowSeconds;
+            }
+
+            public void setWindowSeconds(long windowSeconds) {
+                this.windowSeconds = windowSeconds;
+            }
+
+            public int getStripes() {
+                return stripes;
+            }
+
+            public void setStripes(int stripes) {
+                this.stripes = stripes;
+            }
+        }
+
+        public static class TokenRevocation {
+
+            private int expectedRevocations = 100000;
+
+            private double falsePositiveProbability = 0.01;
+
+            private long syncIntervalMs = 10000;
+
+            private long compactionIntervalMs = 3600000;
+
+            public int getExpectedRevocations() {
+                return expectedRevocations;
+            }
+
+            public void setExpectedRevocations(int expectedRevocations) {
+                this.expectedRevocations = expectedRevocations;
+            }
+
+            public double getFalsePositiveProbability() {
+                return falsePositiveProbability;
+            }
+
+            public void setFalsePositiveProbability(double falsePositiveProbability) {
+                this.falsePositiveProbability = falsePositiveProbability;
+            }
+
+            public long getSyncIntervalMs() {
+                return syncIntervalMs;
+            }
+
+            public void setSyncIntervalMs(long syncIntervalMs) {
+                this.syncIntervalMs = syncIntervalMs;
+            }
+
+            public long getCompactionIntervalMs() {
+                return compactionIntervalMs;
+            }
+
+            public void setCompactionIntervalMs(long compactionIntervalMs) {
+                this.compactionIntervalMs = compactionIntervalMs;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,45 +1,121 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.management.CacheRegionMetrics;
+import com.mycompany.myapp.service.CacheInvalidationService;
+import com.mycompany.myapp.service.history.EntityHistoryEventListener;
+import java.io.File;
 import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.jcache.JCacheCache;
 import org.springframework.context.annotation.*;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
+/**
+ * Configuration of the Ehcache caches, used for the Hibernate second-level cache and Spring caching.
+ * <p>
+ * Each cache takes the size and time to live of {@code jhipster.cache.ehcache}, unless its region in
+ * {@code application.cache.regions}, keyed by cache name, sets its own. A region can add an off-heap tier, kept out of the
+ * garbage-collected heap, and a disk tier under {@code application.cache.disk-path}, optionally kept across restarts:
+ * entries then move from the heap to the slower tiers as the heap fills up.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
+    /**
+     * Create the JCache cache manager like Spring Boot does, with a persistence service when a region has a disk tier.
+     *
+     * @param cacheManagerCustomizers the customizers creating the caches.
+     * @return the cache manager.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
         );
+        boolean disk = cacheProperties.getRegions().values().stream().anyMatch(region -> region.getDiskMb() > 0);
+        DefaultConfiguration configuration = disk
+            ? new DefaultConfiguration(
+                cachingProvider.getDefaultClassLoader(),
+                new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskPath()))
+            )
+            : new DefaultConfiguration(cachingProvider.getDefaultClassLoader());
+        javax.cache.CacheManager cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), configuration);
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
     }
 
     @Bean
-    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
-        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(
+        javax.cache.CacheManager cacheManager,
+        EntityHistoryEventListener entityHistoryEventListener,
+        CacheInvalidationService cacheInvalidationService
+    ) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            hibernateProperties.put(
+                JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(entityHistoryEventListener, cacheInvalidationService)
+            );
+        };
+    }
+
+    /**
+     * Collect the Ehcache statistics of each cache, rather than the JSR-107 statistics MBeans, which are not enabled.
+     *
+     * @param cacheManager the cache manager.
+     * @return the statistics service of the caches.
+     */
+    @Bean
+    public StatisticsService cacheStatisticsService(javax.cache.CacheManager cacheManager) {
+        return CacheRegionMetrics.statisticsService(cacheManager);
+    }
+
+    /**
+     * Publish the meters of each cache from its Ehcache statistics.
+     *
+     * @param statisticsService the statistics service of the caches.
+     * @return the provider of the cache meters, used before the one of Spring Boot.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CacheMeterBinderProvider<JCacheCache> cacheRegionMeterBinderProvider(StatisticsService statisticsService) {
+        return (cache, tags) -> new CacheRegionMetrics(cache.getNativeCache(), statisticsService.getCacheStatistics(cache.getName()), tags);
     }
 
     @Bean
@@ -62,8 +138,37 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, Eh107Configuration.fromEhcacheCacheConfiguration(ehcacheConfiguration(cacheName)));
+        }
+    }
+
+    org.ehcache.config.CacheConfiguration<Object, Object> ehcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = cacheProperties
+            .getRegions()
+            .getOrDefault(cacheName, new ApplicationProperties.Cache.Region());
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            Objects.requireNonNullElse(region.getMaxEntries(), ehcache.getMaxEntries())
+        );
+        if (region.getOffHeapMb() > 0) {
+            resourcePools = resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        if (region.getDiskMb() > 0) {
+            resourcePools = resourcePools.disk(region.getDiskMb(), MemoryUnit.MB, region.isDiskPersistent());
+        }
+        long timeToLiveSeconds = Objects.requireNonNullElse(region.getTimeToLiveSeconds(), (long) ehcache.getTimeToLiveSeconds());
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        ).withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLiveSeconds)));
+        if (region.getOffHeapMb() > 0 || region.getDiskMb() > 0) {
+            // Entries out of the heap are stored serialized, Hibernate cache entries and cached entities being Serializable
+            ClassLoader classLoader = CacheConfiguration.class.getClassLoader();
+            builder = builder
+                .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                .withValueSerializer(new PlainJavaSerializer<>(classLoader));
         }
+        return builder.build();
     }
 
     @Autowired(required = false)
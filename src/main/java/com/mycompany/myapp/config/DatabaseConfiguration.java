@@ -1,17 +1,30 @@
 package com.mycompany.myapp.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.h2.H2ConsoleProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.h2.H2ConfigurationHelper;
@@ -46,6 +59,81 @@ public class DatabaseConfiguration {
         return H2ConfigurationHelper.createServer(port);
     }
 
+    /**
+     * The pool of the primary database, configured as Spring Boot does when there is no replica.
+     *
+     * @param dataSourceProperties the {@code spring.datasource} properties.
+     * @return the primary data source.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    @ConditionalOnProperty(prefix = "application.datasource.replicas[0]", name = "url")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * The pools of the read replicas, with the settings of the primary pool, and a scheduled check of their health and
+     * replication lag.
+     *
+     * @param primaryDataSource the primary data source.
+     * @param applicationProperties the {@code application.datasource} properties.
+     * @param taskScheduler the scheduler of the health checks, which only run once scheduling is enabled.
+     * @return the data source of the replicas.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "application.datasource.replicas[0]", name = "url")
+    public ReplicaRoutingDataSource replicaDataSource(
+        HikariDataSource primaryDataSource,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<TaskScheduler> taskScheduler
+    ) {
+        ApplicationProperties.Datasource properties = applicationProperties.getDatasource();
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ApplicationProperties.Datasource.Replica replica : properties.getReplicas()) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName(Objects.requireNonNullElse(primaryDataSource.getPoolName(), "Hikari") + "-replica-" + replicas.size());
+            config.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                config.setUsername(replica.getUsername());
+                config.setPassword(replica.getPassword());
+            }
+            config.setReadOnly(true);
+            // Start even if the replica is down, the health check will leave it out
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        LOG.info("Routing read-only transactions to {} replicas", replicas.size());
+        ReplicaRoutingDataSource replicaDataSource = new ReplicaRoutingDataSource(
+            primaryDataSource,
+            replicas,
+            properties.getReplicationLagQuery(),
+            properties.getMaxReplicationLagMs()
+        );
+        taskScheduler.ifAvailable(scheduler ->
+            scheduler.scheduleWithFixedDelay(replicaDataSource::checkReplicas, Duration.ofMillis(properties.getHealthCheckIntervalMs()))
+        );
+        return replicaDataSource;
+    }
+
+    /**
+     * The data source of the application, which only takes a connection when a transaction runs its first statement:
+     * from the replicas if the transaction is read-only, from the primary otherwise.
+     *
+     * @param primaryDataSource the primary data source.
+     * @param replicaDataSource the data source of the replicas.
+     * @return the data source.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "application.datasource.replicas[0]", name = "url")
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
     private String getValidPortForH2() {
         int port = Integer.parseInt(env.getProperty("server.port"));
         if (port < 10000) {
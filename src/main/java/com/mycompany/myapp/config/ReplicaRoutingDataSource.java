@@ -0,0 +1,143 @@
+package com.mycompany.myapp.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * A {@link DataSource} spreading connections over the read replicas of the database, used by
+ * {@link LazyConnectionDataSourceProxy} for read-only transactions.
+ * <p>
+ * Replicas are used in turn. A replica is left out when it fails to give a connection, or when the periodic
+ * {@link #checkReplicas() health check} finds it down or lagging behind the primary by more than the maximum
+ * replication lag, until a later check finds it back. When no replica is available, connections come from the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final String replicationLagQuery;
+
+    private final long maxReplicationLagMs;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary the data source of the primary.
+     * @param replicas the data sources of the replicas.
+     * @param replicationLagQuery the query giving the replication lag of a replica in milliseconds, or {@code null} to
+     * only check that replicas are up.
+     * @param maxReplicationLagMs the replication lag above which a replica is left out.
+     */
+    public ReplicaRoutingDataSource(
+        DataSource primary,
+        List<? extends DataSource> replicas,
+        String replicationLagQuery,
+        long maxReplicationLagMs
+    ) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size()).mapToObj(i -> new Replica(i, replicas.get(i))).toList();
+        this.replicationLagQuery = replicationLagQuery;
+        this.maxReplicationLagMs = maxReplicationLagMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    LOG.warn("Replica {} failed to give a connection, leaving it out: {}", replica.index, e.getMessage());
+                    replica.available = false;
+                }
+            }
+        }
+        LOG.debug("No replica available, using the primary");
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replicas use the credentials of their configuration");
+    }
+
+    /**
+     * Check whether each replica is up and close enough to the primary to be used.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean available;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                long lagMs = getReplicationLagMs(connection);
+                available = lagMs <= maxReplicationLagMs;
+                if (!available && replica.available) {
+                    LOG.warn("Replica {} lags {} ms behind the primary, leaving it out", replica.index, lagMs);
+                }
+            } catch (SQLException e) {
+                available = false;
+                if (replica.available) {
+                    LOG.warn("Replica {} is down, leaving it out: {}", replica.index, e.getMessage());
+                }
+            }
+            if (available && !replica.available) {
+                LOG.info("Replica {} is back", replica.index);
+            }
+            replica.available = available;
+        }
+    }
+
+    /**
+     * @return the number of replicas currently used.
+     */
+    public long getAvailableReplicas() {
+        return replicas.stream().filter(replica -> replica.available).count();
+    }
+
+    private long getReplicationLagMs(Connection connection) throws SQLException {
+        if (replicationLagQuery == null) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(replicationLagQuery)) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final int index;
+
+        private final DataSource dataSource;
+
+        private volatile boolean available = true;
+
+        private Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+    }
+}
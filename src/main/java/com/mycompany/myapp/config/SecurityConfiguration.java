@@ -5,6 +5,7 @@ import static org.springframework.security.web.util.matcher.AntPathRequestMatche
 
 import com.mycompany.myapp.security.*;
 import com.mycompany.myapp.web.filter.SpaWebFilter;
+import java.util.Map;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -15,7 +16,10 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
 import org.springframework.security.web.SecurityFilterChain;
@@ -30,6 +34,10 @@ import tech.jhipster.config.JHipsterProperties;
 @EnableMethodSecurity(securedEnabled = true)
 public class SecurityConfiguration {
 
+    private static final String BCRYPT = "bcrypt";
+
+    private static final String PBKDF2 = "pbkdf2";
+
     private final Environment env;
 
     private final JHipsterProperties jHipsterProperties;
@@ -39,9 +47,27 @@ public class SecurityConfiguration {
         this.jHipsterProperties = jHipsterProperties;
     }
 
+    /**
+     * Passwords are hashed with the configured algorithm, and stored with its id as prefix. Hashes without prefix, stored
+     * before, are BCrypt hashes. Hashes of another algorithm or of a lower work factor are upgraded on the next login, by
+     * {@link com.mycompany.myapp.service.UserService#updatePassword}.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        BCryptPasswordEncoder bcryptPasswordEncoder = new BCryptPasswordEncoder(passwordHashing.getBcryptStrength());
+        Map<String, PasswordEncoder> passwordEncoders = Map.of(
+            BCRYPT,
+            bcryptPasswordEncoder,
+            PBKDF2,
+            new Pbkdf2PasswordEncoder("", 16, passwordHashing.getPbkdf2Iterations(), SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256)
+        );
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(
+            passwordHashing.getAlgorithm(),
+            passwordEncoders
+        );
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcryptPasswordEncoder);
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder, passwordHashing.getThreads(), passwordHashing.getQueueCapacity());
     }
 
     @Bean
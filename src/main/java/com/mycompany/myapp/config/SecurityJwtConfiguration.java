@@ -3,12 +3,15 @@ package com.mycompany.myapp.config;
 import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.mycompany.myapp.management.SecurityMetersService;
+import com.mycompany.myapp.security.CachingJwtDecoder;
+import com.mycompany.myapp.security.MeteredJwtDecoder;
+import com.mycompany.myapp.security.RevocationCheckingJwtDecoder;
+import com.mycompany.myapp.security.TokenRevocationList;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,34 +23,26 @@ import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 @Configuration
 public class SecurityJwtConfiguration {
 
-    private static final Logger LOG = LoggerFactory.getLogger(SecurityJwtConfiguration.class);
-
     @Value("${jhipster.security.authentication.jwt.base64-secret}")
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(
+        SecurityMetersService metersService,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<TokenRevocationList> tokenRevocationList
+    ) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
-            try {
-                return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
-                    metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (
-                    e.getMessage().contains("Invalid JWT serialization") ||
-                    e.getMessage().contains("Malformed token") ||
-                    e.getMessage().contains("Invalid unsecured/JWS/JWE")
-                ) {
-                    metersService.trackTokenMalformed();
-                } else {
-                    LOG.error("Unknown JWT error {}", e.getMessage());
-                }
-                throw e;
-            }
-        };
+        int tokenCacheMaxEntries = applicationProperties.getSecurity().getTokenCache().getMaxEntries();
+        JwtDecoder verifyingJwtDecoder = tokenCacheMaxEntries > 0
+            ? new CachingJwtDecoder(jwtDecoder, tokenCacheMaxEntries, metersService)
+            : jwtDecoder;
+        // Revocations are checked in front of the cache, which would otherwise keep accepting the revoked tokens it holds
+        TokenRevocationList revocationList = tokenRevocationList.getIfAvailable();
+        if (revocationList != null) {
+            verifyingJwtDecoder = new RevocationCheckingJwtDecoder(verifyingJwtDecoder, revocationList);
+        }
+        return new MeteredJwtDecoder(verifyingJwtDecoder, JWT_ALGORITHM, metersService);
     }
 
     @Bean
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import java.io.Serializable;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A EntityA.
@@ -11,6 +12,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "entity_a")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class EntityA implements Serializable {
 
@@ -31,6 +33,10 @@ public class EntityA implements Serializable {
     @Column(name = "description")
     private String description;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -85,6 +91,19 @@ public class EntityA implements Serializable {
         this.description = description;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public EntityA version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -112,6 +131,7 @@ public class EntityA implements Serializable {
             ", name='" + getName() + "'" +
             ", title='" + getTitle() + "'" +
             ", description='" + getDescription() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
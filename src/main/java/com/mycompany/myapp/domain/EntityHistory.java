@@ -7,6 +7,7 @@ import java.io.Serializable;
 import java.time.ZonedDateTime;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A EntityHistory.
@@ -14,6 +15,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "entity_history")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class EntityHistory implements Serializable {
 
@@ -52,6 +54,10 @@ public class EntityHistory implements Serializable {
     @Column(name = "creation_date", nullable = false)
     private ZonedDateTime creationDate;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -158,6 +164,19 @@ public class EntityHistory implements Serializable {
         this.creationDate = creationDate;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public EntityHistory version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -189,6 +208,7 @@ public class EntityHistory implements Serializable {
             ", content='" + getContent() + "'" +
             ", contentContentType='" + getContentContentType() + "'" +
             ", creationDate='" + getCreationDate() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
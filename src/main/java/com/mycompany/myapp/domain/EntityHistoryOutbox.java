@@ -0,0 +1,193 @@
+package com.mycompany.myapp.domain;
+
+import com.mycompany.myapp.domain.enumeration.Action;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * A change to an audited entity, written in the same transaction as the change and waiting to be relayed as an
+ * {@link EntityHistory}.
+ */
+@Entity
+@Table(name = "entity_history_outbox")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EntityHistoryOutbox implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_login", nullable = false)
+    private String userLogin;
+
+    @NotNull
+    @Column(name = "entity_name", nullable = false)
+    private String entityName;
+
+    @NotNull
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action_type")
+    private Action actionType;
+
+    @Lob
+    @Column(name = "state")
+    private byte[] state;
+
+    @Column(name = "changed_fields", length = 1024)
+    private String changedFields;
+
+    @NotNull
+    @Column(name = "creation_date", nullable = false)
+    private ZonedDateTime creationDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public EntityHistoryOutbox id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUserLogin() {
+        return this.userLogin;
+    }
+
+    public EntityHistoryOutbox userLogin(String userLogin) {
+        this.setUserLogin(userLogin);
+        return this;
+    }
+
+    public void setUserLogin(String userLogin) {
+        this.userLogin = userLogin;
+    }
+
+    public String getEntityName() {
+        return this.entityName;
+    }
+
+    public EntityHistoryOutbox entityName(String entityName) {
+        this.setEntityName(entityName);
+        return this;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public Long getEntityId() {
+        return this.entityId;
+    }
+
+    public EntityHistoryOutbox entityId(Long entityId) {
+        this.setEntityId(entityId);
+        return this;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Action getActionType() {
+        return this.actionType;
+    }
+
+    public EntityHistoryOutbox actionType(Action actionType) {
+        this.setActionType(actionType);
+        return this;
+    }
+
+    public void setActionType(Action actionType) {
+        this.actionType = actionType;
+    }
+
+    /**
+     * All the fields of the entity after the change, as JSON.
+     */
+    public byte[] getState() {
+        return this.state;
+    }
+
+    public EntityHistoryOutbox state(byte[] state) {
+        this.setState(state);
+        return this;
+    }
+
+    public void setState(byte[] state) {
+        this.state = state;
+    }
+
+    /**
+     * The comma-separated names of the fields changed by an update, or {@code null} if they are unknown.
+     */
+    public String getChangedFields() {
+        return this.changedFields;
+    }
+
+    public EntityHistoryOutbox changedFields(String changedFields) {
+        this.setChangedFields(changedFields);
+        return this;
+    }
+
+    public void setChangedFields(String changedFields) {
+        this.changedFields = changedFields;
+    }
+
+    public ZonedDateTime getCreationDate() {
+        return this.creationDate;
+    }
+
+    public EntityHistoryOutbox creationDate(ZonedDateTime creationDate) {
+        this.setCreationDate(creationDate);
+        return this;
+    }
+
+    public void setCreationDate(ZonedDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EntityHistoryOutbox)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((EntityHistoryOutbox) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityHistoryOutbox{" +
+            "id=" + getId() +
+            ", userLogin='" + getUserLogin() + "'" +
+            ", entityName='" + getEntityName() + "'" +
+            ", entityId=" + getEntityId() +
+            ", actionType='" + getActionType() + "'" +
+            ", changedFields='" + getChangedFields() + "'" +
+            ", creationDate='" + getCreationDate() + "'" +
+            "}";
+    }
+}
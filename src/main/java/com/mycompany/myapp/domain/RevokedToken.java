@@ -0,0 +1,96 @@
+package com.mycompany.myapp.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A JWT revoked before its expiry, identified by its {@code jti} claim, kept until it expires.
+ */
+@Entity
+@Table(name = "revoked_token")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RevokedToken implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Size(max = 36)
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @NotNull
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    public String getJti() {
+        return this.jti;
+    }
+
+    public RevokedToken jti(String jti) {
+        this.setJti(jti);
+        return this;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public RevokedToken expiresAt(Instant expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Instant getRevokedAt() {
+        return this.revokedAt;
+    }
+
+    public RevokedToken revokedAt(Instant revokedAt) {
+        this.setRevokedAt(revokedAt);
+        return this;
+    }
+
+    public void setRevokedAt(Instant revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RevokedToken)) {
+            return false;
+        }
+        return getJti() != null && getJti().equals(((RevokedToken) o).getJti());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RevokedToken{" +
+            "jti='" + getJti() + "'" +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            ", revokedAt='" + getRevokedAt() + "'" +
+            "}";
+    }
+}
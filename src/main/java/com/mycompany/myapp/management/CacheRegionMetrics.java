@@ -0,0 +1,173 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.ehcache.core.EhcacheManager;
+import org.ehcache.core.internal.statistics.DefaultStatisticsService;
+import org.ehcache.core.spi.service.CacheManagerProviderService;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.spi.store.InternalCacheManager;
+import org.ehcache.core.statistics.CacheOperationOutcomes.GetOutcome;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.ChainedOperationObserver;
+import org.ehcache.core.statistics.TierStatistics;
+import org.ehcache.spi.service.Service;
+import org.ehcache.spi.service.ServiceProvider;
+
+/**
+ * Meters of an Ehcache cache, used for the second-level cache regions and Spring caches alike.
+ * <p>
+ * Besides the standard cache meters - gets by result, puts, evictions and size - it publishes the removals and
+ * expirations, the size and occupied bytes of each tier, and the latency of gets by result. Statistics are read from
+ * Ehcache itself, which always collects them, rather than from the JSR-107 statistics MBeans.
+ */
+public class CacheRegionMetrics extends CacheMeterBinder<javax.cache.Cache<?, ?>> {
+
+    private final CacheStatistics statistics;
+
+    public CacheRegionMetrics(javax.cache.Cache<?, ?> cache, CacheStatistics statistics, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+        this.statistics = statistics;
+    }
+
+    /**
+     * Start a statistics service over the caches of a cache manager, those it has and those it will create.
+     * <p>
+     * The JSR-107 provider builds the Ehcache cache manager itself and keeps the statistics service it registers on it,
+     * so this one listens to the Ehcache cache manager the same way.
+     *
+     * @param cacheManager an Ehcache JCache cache manager.
+     * @return the statistics service, stopped when the cache manager is closed.
+     */
+    public static StatisticsService statisticsService(javax.cache.CacheManager cacheManager) {
+        InternalCacheManager ehcacheManager = cacheManager.unwrap(EhcacheManager.class);
+        CacheManagerProviderService cacheManagerProvider = new CacheManagerProviderService() {
+            @Override
+            public InternalCacheManager getCacheManager() {
+                return ehcacheManager;
+            }
+
+            @Override
+            public void start(ServiceProvider<Service> serviceProvider) {
+                // Nothing to start
+            }
+
+            @Override
+            public void stop() {
+                // Nothing to stop
+            }
+        };
+        DefaultStatisticsService statisticsService = new DefaultStatisticsService();
+        statisticsService.start(
+            new ServiceProvider<>() {
+                @Override
+                public <U extends Service> U getService(Class<U> serviceType) {
+                    return serviceType.cast(cacheManagerProvider);
+                }
+
+                @Override
+                public <U extends Service> Collection<U> getServicesOfType(Class<U> serviceType) {
+                    return List.of(getService(serviceType));
+                }
+            }
+        );
+        for (String cacheName : cacheManager.getCacheNames()) {
+            statisticsService.cacheAdded(cacheName, cacheManager.getCache(cacheName).unwrap(org.ehcache.Cache.class));
+        }
+        return statisticsService;
+    }
+
+    /**
+     * @param statistics the statistics of a cache.
+     * @return the number of entries of the cache, held by its lowest tier.
+     */
+    public static long size(CacheStatistics statistics) {
+        return statistics.getTierStatistics().values().stream().mapToLong(TierStatistics::getMappings).max().orElse(0);
+    }
+
+    @Override
+    protected Long size() {
+        return size(statistics);
+    }
+
+    @Override
+    protected long hitCount() {
+        return statistics.getCacheHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return statistics.getCacheMisses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return statistics.getCacheEvictions();
+    }
+
+    @Override
+    protected long putCount() {
+        return statistics.getCachePuts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.removals", statistics, CacheStatistics::getCacheRemovals)
+            .tags(getTagsWithCacheName())
+            .description("Cache removals")
+            .register(registry);
+        FunctionCounter.builder("cache.expirations", statistics, CacheStatistics::getCacheExpirations)
+            .tags(getTagsWithCacheName())
+            .description("Entries expired from the cache")
+            .register(registry);
+
+        for (Map.Entry<String, TierStatistics> tier : statistics.getTierStatistics().entrySet()) {
+            Tags tierTags = Tags.concat(getTagsWithCacheName(), "tier", tier.getKey());
+            Gauge.builder("cache.tier.size", tier.getValue(), TierStatistics::getMappings)
+                .tags(tierTags)
+                .description("The number of entries in the cache tier")
+                .register(registry);
+            Gauge.builder("cache.tier.occupied", tier.getValue(), TierStatistics::getOccupiedByteSize)
+                .tags(tierTags)
+                .description("The bytes occupied by the entries of the cache tier")
+                .baseUnit("bytes")
+                .register(registry);
+        }
+
+        Map<GetOutcome, Timer> getLatencies = new EnumMap<>(GetOutcome.class);
+        for (GetOutcome outcome : GetOutcome.values()) {
+            Timer timer = Timer.builder("cache.gets.latency")
+                .tags(getTagsWithCacheName())
+                .tag("result", outcome.name().toLowerCase(Locale.ROOT))
+                .description("The latency of cache gets")
+                .register(registry);
+            getLatencies.put(outcome, timer);
+        }
+        statistics.registerDerivedStatistic(
+            GetOutcome.class,
+            "get",
+            new ChainedOperationObserver<GetOutcome>() {
+                @Override
+                public void begin(long time) {
+                    // Only the latency is recorded
+                }
+
+                @Override
+                public void end(long time, long latency, GetOutcome result) {
+                    getLatencies.get(result).record(latency, TimeUnit.NANOSECONDS);
+                }
+            }
+        );
+    }
+}
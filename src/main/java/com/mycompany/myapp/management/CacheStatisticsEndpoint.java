@@ -0,0 +1,78 @@
+package com.mycompany.myapp.management;
+
+import java.util.Map;
+import java.util.TreeMap;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint summarising the statistics of each cache since the application started, to size the caches.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatisticsEndpoint {
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final StatisticsService statisticsService;
+
+    public CacheStatisticsEndpoint(javax.cache.CacheManager cacheManager, StatisticsService statisticsService) {
+        this.cacheManager = cacheManager;
+        this.statisticsService = statisticsService;
+    }
+
+    /**
+     * @return the statistics of each cache, by cache name.
+     */
+    @ReadOperation
+    public Map<String, CacheRegionStatistics> cacheStatistics() {
+        Map<String, CacheRegionStatistics> cacheStatistics = new TreeMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            cacheStatistics.put(cacheName, CacheRegionStatistics.of(statisticsService.getCacheStatistics(cacheName)));
+        }
+        return cacheStatistics;
+    }
+
+    /**
+     * The statistics of a cache.
+     *
+     * @param hits the gets which found an entry.
+     * @param misses the gets which found none.
+     * @param hitRatio the share of gets which found an entry, 0 when there was no get.
+     * @param puts the entries put.
+     * @param evictions the entries evicted to make room for others.
+     * @param expirations the entries expired.
+     * @param size the number of entries.
+     * @param tierSizes the number of entries of each tier, by tier name.
+     */
+    public record CacheRegionStatistics(
+        long hits,
+        long misses,
+        double hitRatio,
+        long puts,
+        long evictions,
+        long expirations,
+        long size,
+        Map<String, Long> tierSizes
+    ) {
+        static CacheRegionStatistics of(CacheStatistics statistics) {
+            long hits = statistics.getCacheHits();
+            long misses = statistics.getCacheMisses();
+            Map<String, Long> tierSizes = new TreeMap<>();
+            statistics.getTierStatistics().forEach((tier, tierStatistics) -> tierSizes.put(tier, tierStatistics.getMappings()));
+            return new CacheRegionStatistics(
+                hits,
+                misses,
+                hits + misses == 0 ? 0 : (double) hits / (hits + misses),
+                statistics.getCachePuts(),
+                statistics.getCacheEvictions(),
+                statistics.getCacheExpirations(),
+                CacheRegionMetrics.size(statistics),
+                tierSizes
+            );
+        }
+    }
+}
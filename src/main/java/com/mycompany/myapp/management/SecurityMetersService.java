@@ -13,16 +13,43 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_DESCRIPTION =
+        "Indicates lookups of the tokens presented by the clients in the verified tokens cache.";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+
+    public static final String THROTTLED_LOGINS_METER_NAME = "security.authentication.throttled-logins";
+    public static final String THROTTLED_LOGINS_METER_DESCRIPTION = "Indicates login attempts refused for exceeding their rate limit.";
+    public static final String THROTTLED_LOGINS_METER_KEY_DIMENSION = "key";
+
+    public static final String REVOCATION_FALSE_POSITIVES_METER_NAME = "security.authentication.revocation-false-positives";
+    public static final String REVOCATION_FALSE_POSITIVES_METER_DESCRIPTION =
+        "Indicates tokens found in the filter of the revoked tokens without having been revoked.";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenRevokedCounter;
+    private final Counter tokenRevocationFalsePositiveCounter;
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
+    private final Counter loginThrottledByUsernameCounter;
+    private final Counter loginThrottledByIpCounter;
 
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.tokenRevokedCounter = invalidTokensCounterForCauseBuilder("revoked").register(registry);
+        this.tokenRevocationFalsePositiveCounter = Counter.builder(REVOCATION_FALSE_POSITIVES_METER_NAME)
+            .description(REVOCATION_FALSE_POSITIVES_METER_DESCRIPTION)
+            .register(registry);
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+        this.loginThrottledByUsernameCounter = throttledLoginsCounterForKeyBuilder("username").register(registry);
+        this.loginThrottledByIpCounter = throttledLoginsCounterForKeyBuilder("ip").register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,6 +59,18 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter.builder(TOKEN_CACHE_METER_NAME)
+            .description(TOKEN_CACHE_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private Counter.Builder throttledLoginsCounterForKeyBuilder(String key) {
+        return Counter.builder(THROTTLED_LOGINS_METER_NAME)
+            .description(THROTTLED_LOGINS_METER_DESCRIPTION)
+            .tag(THROTTLED_LOGINS_METER_KEY_DIMENSION, key);
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -47,4 +86,28 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenRevoked() {
+        this.tokenRevokedCounter.increment();
+    }
+
+    public void trackTokenRevocationFalsePositive() {
+        this.tokenRevocationFalsePositiveCounter.increment();
+    }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    public void trackLoginThrottledByUsername() {
+        this.loginThrottledByUsernameCounter.increment();
+    }
+
+    public void trackLoginThrottledByIp() {
+        this.loginThrottledByIpCounter.increment();
+    }
 }
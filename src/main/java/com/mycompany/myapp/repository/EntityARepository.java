@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EntityARepository extends JpaRepository<EntityA, Long> {}
+public interface EntityARepository extends JpaRepository<EntityA, Long>, JpaSpecificationExecutor<EntityA> {}
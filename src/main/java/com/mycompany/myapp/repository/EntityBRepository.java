@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EntityBRepository extends JpaRepository<EntityB, Long> {}
+public interface EntityBRepository extends JpaRepository<EntityB, Long>, JpaSpecificationExecutor<EntityB> {}
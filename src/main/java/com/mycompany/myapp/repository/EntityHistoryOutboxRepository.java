@@ -0,0 +1,20 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.EntityHistoryOutbox;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the EntityHistoryOutbox entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface EntityHistoryOutboxRepository extends JpaRepository<EntityHistoryOutbox, Long> {
+    /**
+     * Lock the oldest outbox records, skipping the ones already locked by another relay.
+     */
+    @Query(value = "SELECT * FROM entity_history_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EntityHistoryOutbox> findOldestSkipLocked(@Param("limit") int limit);
+}
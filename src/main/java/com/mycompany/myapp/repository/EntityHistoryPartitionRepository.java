@@ -0,0 +1,143 @@
+package com.mycompany.myapp.repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository managing the monthly partitions of the {@code entity_history} table.
+ * <p>
+ * The table is only partitioned on PostgreSQL, see the {@code 20250128194407-3} Liquibase changeSet. On other databases
+ * {@link #isPartitioned()} is {@code false} and no other method should be called.
+ * <p>
+ * A default partition, created by the {@code 20250128194407-5} changeSet, holds the records created outside of every
+ * monthly partition, so that a missed maintenance never makes inserts fail. Its records are moved to the monthly
+ * partition created for them.
+ */
+@Repository
+@Transactional
+public class EntityHistoryPartitionRepository {
+
+    /**
+     * A partition of {@code entity_history}, holding the records created before its upper bound.
+     *
+     * @param name the name of the partition table.
+     * @param upperBound the exclusive upper bound of its creation dates, or {@code null} if it is unbounded.
+     */
+    public record Partition(String name, LocalDateTime upperBound) {}
+
+    private static final String TABLE_NAME = "entity_history";
+
+    public static final String DEFAULT_PARTITION_NAME = "entity_history_default";
+
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean partitioned;
+
+    public EntityHistoryPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            String databaseProductName = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+            );
+            partitioned =
+                "PostgreSQL".equals(databaseProductName) &&
+                Boolean.TRUE.equals(
+                    jdbcTemplate.queryForObject(
+                        "select exists (select 1 from pg_class where relname = ? and relkind = 'p' and pg_table_is_visible(oid))",
+                        Boolean.class,
+                        TABLE_NAME
+                    )
+                );
+        }
+        return partitioned;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Partition> findAllPartitions() {
+        return jdbcTemplate.query(
+            "select child.relname, pg_get_expr(child.relpartbound, child.oid) from pg_inherits" +
+            " join pg_class parent on parent.oid = pg_inherits.inhparent" +
+            " join pg_class child on child.oid = pg_inherits.inhrelid" +
+            " where parent.relname = ? and pg_table_is_visible(parent.oid)",
+            (resultSet, rowNum) -> new Partition(resultSet.getString(1), parseUpperBound(resultSet.getString(2))),
+            TABLE_NAME
+        );
+    }
+
+    /**
+     * Create a partition, moving to it the records of its range held by the default partition, if any.
+     *
+     * @param name the name of the partition table.
+     * @param from the inclusive lower bound of its creation dates.
+     * @param to the exclusive upper bound of its creation dates.
+     */
+    public void createPartition(String name, LocalDateTime from, LocalDateTime to) {
+        String bounds = " for values from ('" + BOUND_FORMAT.format(from) + "') to ('" + BOUND_FORMAT.format(to) + "')";
+        boolean inDefaultPartition = Boolean.TRUE.equals(
+            jdbcTemplate.queryForObject(
+                "select exists (select 1 from " + DEFAULT_PARTITION_NAME + " where creation_date >= ? and creation_date < ?)",
+                Boolean.class,
+                from,
+                to
+            )
+        );
+        if (!inDefaultPartition) {
+            jdbcTemplate.execute("create table if not exists " + quote(name) + " partition of " + TABLE_NAME + bounds);
+            return;
+        }
+        // The default partition cannot hold records of the range of a new partition, so they are moved while it is detached
+        jdbcTemplate.execute("alter table " + TABLE_NAME + " detach partition " + DEFAULT_PARTITION_NAME);
+        jdbcTemplate.execute("create table if not exists " + quote(name) + " partition of " + TABLE_NAME + bounds);
+        jdbcTemplate.update(
+            "insert into " + TABLE_NAME + " select * from " + DEFAULT_PARTITION_NAME + " where creation_date >= ? and creation_date < ?",
+            from,
+            to
+        );
+        jdbcTemplate.update("delete from " + DEFAULT_PARTITION_NAME + " where creation_date >= ? and creation_date < ?", from, to);
+        jdbcTemplate.execute("alter table " + TABLE_NAME + " attach partition " + DEFAULT_PARTITION_NAME + " default");
+    }
+
+    /**
+     * Delete the records of the default partition created before a date.
+     *
+     * @param before the exclusive upper bound of the creation dates to delete.
+     * @return the number of records deleted.
+     */
+    public int deleteFromDefaultPartition(LocalDateTime before) {
+        return jdbcTemplate.update("delete from " + DEFAULT_PARTITION_NAME + " where creation_date < ?", before);
+    }
+
+    /**
+     * Detach and drop a partition, removing all its records at once.
+     *
+     * @param name the name of the partition table.
+     */
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("alter table " + TABLE_NAME + " detach partition " + quote(name));
+        jdbcTemplate.execute("drop table " + quote(name));
+    }
+
+    private static LocalDateTime parseUpperBound(String bound) {
+        Matcher matcher = UPPER_BOUND.matcher(bound == null ? "" : bound);
+        return matcher.find() ? LocalDateTime.parse(matcher.group(1), BOUND_FORMAT) : null;
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+}
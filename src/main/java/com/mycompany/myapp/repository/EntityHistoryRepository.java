@@ -1,12 +1,73 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.EntityHistory;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Spring Data JPA repository for the EntityHistory entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EntityHistoryRepository extends JpaRepository<EntityHistory, Long> {}
+public interface EntityHistoryRepository extends JpaRepository<EntityHistory, Long>, JpaSpecificationExecutor<EntityHistory> {
+    List<EntityHistory> findAllByEntityNameAndEntityIdOrderByIdAsc(String entityName, Long entityId);
+
+    Optional<EntityHistory> findFirstByEntityNameAndEntityIdAndCreationDateLessThanEqualOrderByCreationDateDescIdDesc(
+        String entityName,
+        Long entityId,
+        ZonedDateTime creationDate
+    );
+
+    @Query(
+        "select entityHistory from EntityHistory entityHistory" +
+        " where entityHistory.entityName = :entityName and entityHistory.entityId = :entityId" +
+        " and entityHistory.contentContentType like concat(:contentContentType, '%') and entityHistory.creationDate <= :creationDate" +
+        " order by entityHistory.creationDate desc, entityHistory.id desc"
+    )
+    List<EntityHistory> findLatestByContentContentType(
+        @Param("entityName") String entityName,
+        @Param("entityId") Long entityId,
+        @Param("contentContentType") String contentContentType,
+        @Param("creationDate") ZonedDateTime creationDate,
+        Limit limit
+    );
+
+    List<EntityHistory> findAllByEntityNameAndEntityIdAndCreationDateBetweenOrderByCreationDateAscIdAsc(
+        String entityName,
+        Long entityId,
+        ZonedDateTime from,
+        ZonedDateTime to
+    );
+
+    /**
+     * Find the records holding a merge patch which are the first of their entity created at or after a date, so whose
+     * snapshot was created before it, in the order of their ids, after an id.
+     */
+    @Query(
+        "select entityHistory from EntityHistory entityHistory" +
+        " where entityHistory.creationDate >= :creationDate and entityHistory.id > :afterId" +
+        " and entityHistory.contentContentType like concat(:contentContentType, '%')" +
+        " and not exists (select previous.id from EntityHistory previous" +
+        " where previous.entityName = entityHistory.entityName and previous.entityId = entityHistory.entityId" +
+        " and previous.creationDate >= :creationDate and (previous.creationDate < entityHistory.creationDate" +
+        " or (previous.creationDate = entityHistory.creationDate and previous.id < entityHistory.id)))" +
+        " order by entityHistory.id"
+    )
+    List<EntityHistory> findFirstByContentContentTypeSince(
+        @Param("contentContentType") String contentContentType,
+        @Param("creationDate") ZonedDateTime creationDate,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    @Transactional
+    @Modifying
+    @Query("delete from EntityHistory entityHistory where entityHistory.creationDate < :creationDate")
+    int deleteAllByCreationDateBefore(@Param("creationDate") ZonedDateTime creationDate);
+}
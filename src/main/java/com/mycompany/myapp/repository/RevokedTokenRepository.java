@@ -0,0 +1,28 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.RevokedToken;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA repository for the RevokedToken entity.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    @Query("select revokedToken.jti from RevokedToken revokedToken where revokedToken.expiresAt > :now")
+    List<String> findAllJtiByExpiresAtAfter(@Param("now") Instant now);
+
+    @Query(
+        "select revokedToken.jti from RevokedToken revokedToken where revokedToken.revokedAt >= :since and revokedToken.expiresAt > :now"
+    )
+    List<String> findAllJtiByRevokedAtSinceAndExpiresAtAfter(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken revokedToken where revokedToken.expiresAt <= :now")
+    int deleteAllByExpiresAtNotAfter(@Param("now") Instant now);
+}
@@ -0,0 +1,104 @@
+package com.mycompany.myapp.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter of strings: a string never added is reported as absent, except for a false positive
+ * probability chosen at construction for the expected number of strings.
+ * <p>
+ * Each string is hashed once into 64 bits, from which its bit indexes are derived by double hashing. Bits are only ever
+ * set, so strings cannot be removed: a filter is compacted by building a new one from the strings still present.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions the number of strings for which the false positive probability holds.
+     * @param falsePositiveProbability the probability of reporting as present a string never added.
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveProbability) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveProbability, Double.MIN_NORMAL), 0.5);
+        long bits = (long) Math.ceil((-n * Math.log(p)) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashCount = (int) Math.max(1, Math.round(((double) bitCount / n) * Math.log(2)));
+    }
+
+    /**
+     * Add a string to the filter.
+     *
+     * @param value the string.
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        long increment = increment(hash);
+        long combined = hash;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+            }
+            combined += increment;
+        }
+    }
+
+    /**
+     * @param value the string.
+     * @return {@code false} if the string was never added, {@code true} if it probably was.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long increment = increment(hash);
+        long combined = hash;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+            combined += increment;
+        }
+        return true;
+    }
+
+    /**
+     * @return the size of the filter, in bits.
+     */
+    public long bitSize() {
+        return bitCount;
+    }
+
+    /**
+     * @return the number of bit indexes of each string.
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private static long hash(String value) {
+        // FNV-1a over the chars, then the MurmurHash3 finalizer to spread them over all bits
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long increment(long hash) {
+        return mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
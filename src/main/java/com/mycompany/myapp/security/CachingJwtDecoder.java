@@ -0,0 +1,102 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.management.SecurityMetersService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} remembering the tokens it already verified, so that a client sending the same token with every
+ * request does not have it parsed and its signature checked every time.
+ * <p>
+ * Tokens are cached by their SHA-256 hash until their expiry, and only once the delegate decoder accepted them. The cache
+ * is bounded: when it is full, expired tokens are purged, at most once per second, and new tokens are not cached until
+ * there is room again.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final long PURGE_INTERVAL_MS = 1000;
+
+    private final JwtDecoder delegate;
+
+    private final int maxEntries;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    private final Map<String, Jwt> verifiedTokens = new ConcurrentHashMap<>();
+
+    private volatile long nextPurge;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, SecurityMetersService metersService) {
+        this(delegate, maxEntries, metersService, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, SecurityMetersService metersService, Clock clock) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.metersService = metersService;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt jwt = verifiedTokens.get(key);
+        if (jwt != null) {
+            if (jwt.getTokenValue().equals(token) && isUnexpired(jwt)) {
+                metersService.trackTokenCacheHit();
+                return jwt;
+            }
+            verifiedTokens.remove(key, jwt);
+        }
+        metersService.trackTokenCacheMiss();
+        jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && hasRoom()) {
+            verifiedTokens.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    /**
+     * @return the number of tokens in the cache, expired or not.
+     */
+    public int size() {
+        return verifiedTokens.size();
+    }
+
+    private boolean isUnexpired(Jwt jwt) {
+        return clock.instant().isBefore(jwt.getExpiresAt());
+    }
+
+    private boolean hasRoom() {
+        if (verifiedTokens.size() < maxEntries) {
+            return true;
+        }
+        long now = clock.millis();
+        if (now >= nextPurge) {
+            nextPurge = now + PURGE_INTERVAL_MS;
+            Instant instant = Instant.ofEpochMilli(now);
+            verifiedTokens.values().removeIf(jwt -> !instant.isBefore(jwt.getExpiresAt()));
+        }
+        return verifiedTokens.size() < maxEntries;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
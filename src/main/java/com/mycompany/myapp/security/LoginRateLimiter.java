@@ -0,0 +1,74 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.management.SecurityMetersService;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limit the login attempts per username and per client IP, before any password is hashed.
+ * <p>
+ * The IP limit slows down credential stuffing, many usernames tried from few addresses, and the username limit slows
+ * down password spraying, one username tried from many addresses. An attempt refused by the IP limit does not count
+ * against the username, so an attacker blocked by IP does not lock its target out. A limit of 0 disables it.
+ * <p>
+ * The client IP is the remote address of the request: behind a reverse proxy, it is only the client's when
+ * {@code server.forward-headers-strategy} is set, otherwise all clients share the limit of the proxy.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+    private final SecurityMetersService metersService;
+
+    private final SlidingWindowRateLimiter usernameLimiter;
+
+    private final SlidingWindowRateLimiter ipLimiter;
+
+    private final Duration window;
+
+    public LoginRateLimiter(ApplicationProperties applicationProperties, SecurityMetersService metersService) {
+        ApplicationProperties.Security.LoginRateLimit loginRateLimit = applicationProperties.getSecurity().getLoginRateLimit();
+        this.metersService = metersService;
+        this.window = Duration.ofSeconds(loginRateLimit.getWindowSeconds());
+        this.usernameLimiter = limiter(loginRateLimit.getUsernameLimit(), window, loginRateLimit.getStripes());
+        this.ipLimiter = limiter(loginRateLimit.getIpLimit(), window, loginRateLimit.getStripes());
+    }
+
+    /**
+     * Count a login attempt, unless its username or client IP already reached their limit.
+     *
+     * @param username the username of the attempt.
+     * @param clientIp the IP address of the client.
+     * @return whether the attempt may go on.
+     */
+    public boolean tryAcquire(String username, String clientIp) {
+        if (ipLimiter != null && !ipLimiter.tryAcquire(clientIp)) {
+            LOG.debug("Too many login attempts from {}", clientIp);
+            metersService.trackLoginThrottledByIp();
+            return false;
+        }
+        if (usernameLimiter != null && username != null && !usernameLimiter.tryAcquire(username.toLowerCase(Locale.ENGLISH))) {
+            LOG.debug("Too many login attempts for {}", username);
+            metersService.trackLoginThrottledByUsername();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the length of the sliding windows, after which a refused client may try again.
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    private static SlidingWindowRateLimiter limiter(int limit, Duration window, int stripes) {
+        return limit > 0 ? new SlidingWindowRateLimiter(limit, window, stripes, Clock.systemUTC()) : null;
+    }
+}
@@ -0,0 +1,127 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.management.SecurityMetersService;
+import com.nimbusds.jose.proc.BadJWSException;
+import java.text.ParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * {@link JwtDecoder} counting the tokens rejected by its delegate in {@link SecurityMetersService}, by cause.
+ * <p>
+ * Tokens which cannot be one of ours - not three Base64url segments, a header which is not a JSON object, or a signature
+ * of the wrong length for the MAC algorithm - are rejected before reaching the delegate, with an exception without
+ * stack trace. Other failures are classified by the type of the exception and of its cause, never by its message.
+ */
+public class MeteredJwtDecoder implements JwtDecoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MeteredJwtDecoder.class);
+
+    static final int MAX_TOKEN_LENGTH = 8192;
+
+    /**
+     * Base64url encoding of <code>{"</code>, which starts every JWT header.
+     */
+    private static final String JSON_OBJECT_PREFIX = "eyJ";
+
+    private final JwtDecoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final int signatureLength;
+
+    public MeteredJwtDecoder(JwtDecoder delegate, MacAlgorithm algorithm, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.signatureLength = switch (algorithm) {
+            case HS256 -> 43;
+            case HS384 -> 64;
+            case HS512 -> 86;
+        };
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (!isWellFormed(token)) {
+            metersService.trackTokenMalformed();
+            throw new MalformedJwtException();
+        }
+        try {
+            return delegate.decode(token);
+        } catch (JwtValidationException e) {
+            // Only the timestamps of the claims are validated
+            metersService.trackTokenExpired();
+            throw e;
+        } catch (RevocationCheckingJwtDecoder.RevokedJwtException e) {
+            metersService.trackTokenRevoked();
+            throw e;
+        } catch (BadJwtException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BadJWSException) {
+                metersService.trackTokenInvalidSignature();
+            } else if (cause instanceof ParseException || (cause != null && cause.getCause() instanceof ParseException)) {
+                metersService.trackTokenMalformed();
+            } else {
+                metersService.trackTokenUnsupported();
+            }
+            throw e;
+        } catch (JwtException e) {
+            LOG.error("Unknown JWT error {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Whether a token is made of a header, a payload and a signature of the expected length, in a single pass.
+     */
+    boolean isWellFormed(String token) {
+        int length = token.length();
+        if (length > MAX_TOKEN_LENGTH || !token.startsWith(JSON_OBJECT_PREFIX)) {
+            return false;
+        }
+        int payloadStart = -1;
+        int signatureStart = -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (payloadStart < 0) {
+                    payloadStart = i + 1;
+                } else if (signatureStart < 0) {
+                    signatureStart = i + 1;
+                } else {
+                    return false;
+                }
+            } else if (!isBase64Url(c)) {
+                return false;
+            }
+        }
+        return signatureStart > payloadStart + 1 && payloadStart > 0 && length - signatureStart == signatureLength;
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+
+    /**
+     * Rejection of a token which is not a JWT, thrown without stack trace as it may be thrown at a high rate.
+     */
+    private static final class MalformedJwtException extends BadJwtException {
+
+        private static final long serialVersionUID = 1L;
+
+        private MalformedJwtException() {
+            super("Malformed token");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
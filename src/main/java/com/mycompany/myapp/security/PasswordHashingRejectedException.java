@@ -0,0 +1,17 @@
+package com.mycompany.myapp.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This exception is thrown when too many passwords are being hashed already to hash another one.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many concurrent password hashings")
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException() {
+        super("Too many concurrent password hashings");
+    }
+}
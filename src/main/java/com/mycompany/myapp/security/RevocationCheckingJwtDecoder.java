@@ -0,0 +1,51 @@
+package com.mycompany.myapp.security;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} rejecting the tokens of its delegate which are in the {@link TokenRevocationList}.
+ * <p>
+ * It is to be placed in front of any cache of verified tokens, so that a token revoked after being cached is rejected.
+ * Tokens without {@code jti} claim cannot be revoked.
+ */
+public class RevocationCheckingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    private final TokenRevocationList tokenRevocationList;
+
+    public RevocationCheckingJwtDecoder(JwtDecoder delegate, TokenRevocationList tokenRevocationList) {
+        this.delegate = delegate;
+        this.tokenRevocationList = tokenRevocationList;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = delegate.decode(token);
+        String jti = jwt.getId();
+        if (jti != null && tokenRevocationList.isRevoked(jti)) {
+            throw new RevokedJwtException();
+        }
+        return jwt;
+    }
+
+    /**
+     * Rejection of a revoked token, thrown without stack trace as a stolen token may be replayed at a high rate.
+     */
+    static final class RevokedJwtException extends BadJwtException {
+
+        private static final long serialVersionUID = 1L;
+
+        private RevokedJwtException() {
+            super("Revoked token");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
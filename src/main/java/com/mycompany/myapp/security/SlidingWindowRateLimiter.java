@@ -0,0 +1,91 @@
+package com.mycompany.myapp.security;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free rate limiter allowing a number of events per key over a sliding window.
+ * <p>
+ * Keys are hashed to a fixed number of stripes, each holding in a single {@code long} the number of the current window,
+ * the count of the current window and the count of the previous one, updated by compare-and-set. The sliding count is
+ * the count of the current window plus the share of the previous one still within the sliding window. Memory does not
+ * grow with the number of keys; keys sharing a stripe share their count, so the hash is seeded per instance to keep
+ * clients from choosing the stripe of another key.
+ */
+public class SlidingWindowRateLimiter {
+
+    private static final int COUNT_BITS = 20;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private static final long WINDOW_MASK = (1L << (Long.SIZE - 2 * COUNT_BITS)) - 1;
+
+    private final AtomicLongArray stripes;
+
+    private final int stripeShift;
+
+    private final int seed = new SecureRandom().nextInt();
+
+    private final int limit;
+
+    private final long windowMs;
+
+    private final Clock clock;
+
+    /**
+     * @param limit the number of events allowed per key and window, at most about a million.
+     * @param window the length of the sliding window.
+     * @param stripes the number of stripes, rounded up to a power of two.
+     * @param clock the clock.
+     */
+    public SlidingWindowRateLimiter(int limit, Duration window, int stripes, Clock clock) {
+        int stripeBits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(1, stripes - 1)));
+        this.stripes = new AtomicLongArray(1 << stripeBits);
+        this.stripeShift = Integer.SIZE - stripeBits;
+        this.limit = (int) Math.min(limit, COUNT_MASK);
+        this.windowMs = window.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Count an event for a key, unless the key already reached its limit.
+     *
+     * @param key the key.
+     * @return whether the event is allowed.
+     */
+    public boolean tryAcquire(String key) {
+        int stripe = stripe(key);
+        long now = clock.millis();
+        long window = (now / windowMs) & WINDOW_MASK;
+        double previousWeight = 1 - (double) (now % windowMs) / windowMs;
+        while (true) {
+            long state = stripes.get(stripe);
+            long elapsedWindows = (window - (state >>> (2 * COUNT_BITS))) & WINDOW_MASK;
+            long current;
+            long previous;
+            if (elapsedWindows == 0) {
+                current = (state >>> COUNT_BITS) & COUNT_MASK;
+                previous = state & COUNT_MASK;
+            } else if (elapsedWindows == 1) {
+                current = 0;
+                previous = (state >>> COUNT_BITS) & COUNT_MASK;
+            } else {
+                current = 0;
+                previous = 0;
+            }
+            if (current + previous * previousWeight >= limit) {
+                return false;
+            }
+            long next = (window << (2 * COUNT_BITS)) | ((current + 1) << COUNT_BITS) | previous;
+            if (stripes.compareAndSet(stripe, state, next)) {
+                return true;
+            }
+        }
+    }
+
+    private int stripe(String key) {
+        return ((key.hashCode() ^ seed) * 0x9E3779B9) >>> stripeShift;
+    }
+}
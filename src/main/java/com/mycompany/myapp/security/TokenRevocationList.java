@@ -0,0 +1,140 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.RevokedToken;
+import com.mycompany.myapp.management.SecurityMetersService;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tokens revoked before their expiry, by their {@code jti} claim.
+ * <p>
+ * Revoked tokens are stored in the database, shared by all instances, and mirrored into a {@link BloomFilter}: a token
+ * absent from the filter, as almost all tokens are, is known not to be revoked without querying the database, which is
+ * only queried to tell a revoked token from a false positive of the filter.
+ * <p>
+ * Every {@code application.security.token-revocation.sync-interval-ms} milliseconds, the tokens revoked since the last
+ * synchronization, by any instance, are added to the filter. Every
+ * {@code application.security.token-revocation.compaction-interval-ms} milliseconds, expired tokens are deleted and the
+ * filter is rebuilt from the remaining ones, as a Bloom filter cannot forget them. Until the filter is first built, and
+ * when scheduling is disabled, every token is looked up in the database.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    /**
+     * How far back each synchronization looks for revocations, for the ones committed late or by an instance whose
+     * clock is behind.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final SecurityMetersService metersService;
+
+    private final int expectedRevocations;
+
+    private final double falsePositiveProbability;
+
+    private volatile BloomFilter filter;
+
+    private Instant lastSync;
+
+    public TokenRevocationList(
+        RevokedTokenRepository revokedTokenRepository,
+        SecurityMetersService metersService,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.Security.TokenRevocation tokenRevocation = applicationProperties.getSecurity().getTokenRevocation();
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.metersService = metersService;
+        this.expectedRevocations = tokenRevocation.getExpectedRevocations();
+        this.falsePositiveProbability = tokenRevocation.getFalsePositiveProbability();
+    }
+
+    /**
+     * Revoke a token until its expiry.
+     *
+     * @param jti the id of the token.
+     * @param expiresAt the expiry of the token.
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        LOG.debug("Revoking token {}", jti);
+        revokedTokenRepository.save(new RevokedToken().jti(jti).expiresAt(expiresAt).revokedAt(Instant.now()));
+        BloomFilter currentFilter = filter;
+        if (currentFilter != null) {
+            currentFilter.put(jti);
+        }
+    }
+
+    /**
+     * @param jti the id of a token.
+     * @return whether the token was revoked.
+     */
+    public boolean isRevoked(String jti) {
+        BloomFilter currentFilter = filter;
+        if (currentFilter == null) {
+            return revokedTokenRepository.existsById(jti);
+        }
+        if (!currentFilter.mightContain(jti)) {
+            return false;
+        }
+        boolean revoked = revokedTokenRepository.existsById(jti);
+        if (!revoked) {
+            metersService.trackTokenRevocationFalsePositive();
+        }
+        return revoked;
+    }
+
+    /**
+     * Add the tokens revoked since the last synchronization to the filter, or build the filter if it was not yet.
+     */
+    @Scheduled(fixedDelayString = "${application.security.token-revocation.sync-interval-ms:10000}")
+    public synchronized void sync() {
+        if (filter == null) {
+            compact();
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            List<String> revoked = revokedTokenRepository.findAllJtiByRevokedAtSinceAndExpiresAtAfter(lastSync.minus(SYNC_OVERLAP), now);
+            revoked.forEach(filter::put);
+            lastSync = now;
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to synchronize the revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the expired tokens, and rebuild the filter from the remaining ones.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.security.token-revocation.compaction-interval-ms:3600000}",
+        initialDelayString = "${application.security.token-revocation.compaction-interval-ms:3600000}"
+    )
+    public synchronized void compact() {
+        try {
+            Instant now = Instant.now();
+            int deleted = revokedTokenRepository.deleteAllByExpiresAtNotAfter(now);
+            List<String> revoked = revokedTokenRepository.findAllJtiByExpiresAtAfter(now);
+            BloomFilter compacted = new BloomFilter(Math.max(expectedRevocations, 2 * revoked.size()), falsePositiveProbability);
+            revoked.forEach(compacted::put);
+            filter = compacted;
+            lastSync = now;
+            LOG.debug("Compacted the revoked tokens: {} expired, {} remaining", deleted, revoked.size());
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to compact the revoked tokens: {}", e.getMessage());
+            return;
+        }
+        // Tokens revoked by this instance while the filter was rebuilt were only added to the previous one
+        sync();
+    }
+}
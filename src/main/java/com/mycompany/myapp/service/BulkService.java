@@ -0,0 +1,180 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for creating, updating and deleting many entities at once.
+ * <p>
+ * Entities are read from an {@link Iterator}, which may parse them from the request while they are processed, and are
+ * saved in chunks of {@code application.bulk.chunk-size} entities, each in its own transaction, so that neither the
+ * persistence context nor the transaction grows with the number of entities. Within a chunk, the statements are sent in
+ * JDBC batches of {@code hibernate.jdbc.batch_size}, and updated and deleted entities are loaded with a single query.
+ * The changes still go through Hibernate, so that they are recorded in the history. An updated entity with a version
+ * must still be in that version, one without version replaces the existing one whatever its version.
+ * <p>
+ * A chunk holding an invalid entity is rolled back, and the operation stops with an {@link InvalidBulkRowException}:
+ * the chunks before it stay committed.
+ */
+@Service
+public class BulkService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkService.class);
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    public BulkService(
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, applicationProperties.getBulk().getChunkSize());
+    }
+
+    /**
+     * Create new entities.
+     *
+     * @param entities the entities to create, without id.
+     * @return the ids of the created entities, in order.
+     */
+    public <T> BulkResultDTO createAll(Iterator<T> entities) {
+        List<Long> ids = new ArrayList<>();
+        for (List<T> chunk = nextChunk(entities); !chunk.isEmpty(); chunk = nextChunk(entities)) {
+            List<T> created = chunk;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < created.size(); i++) {
+                    if (getId(created.get(i)) != null) {
+                        throw new InvalidBulkRowException(ids.size() + i, "already has an ID", "idexists", ids.size());
+                    }
+                }
+                created.forEach(entityManager::persist);
+            });
+            created.forEach(entity -> ids.add(getId(entity)));
+            LOG.debug("Created {} entities", ids.size());
+        }
+        return new BulkResultDTO(ids);
+    }
+
+    /**
+     * Update existing entities, replacing all their fields.
+     *
+     * @param entityClass the class of the entities.
+     * @param entities the entities to update, with their id.
+     * @return the ids of the updated entities, in order.
+     */
+    public <T> BulkResultDTO updateAll(Class<T> entityClass, Iterator<T> entities) {
+        List<Long> ids = new ArrayList<>();
+        for (List<T> chunk = nextChunk(entities); !chunk.isEmpty(); chunk = nextChunk(entities)) {
+            List<Long> chunkIds = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = getId(chunk.get(i));
+                if (id == null) {
+                    throw new InvalidBulkRowException(ids.size() + i, "has no ID", "idnull", ids.size());
+                }
+                chunkIds.add(id);
+            }
+            List<T> updated = chunk;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<T> existing = loadAll(entityClass, chunkIds);
+                for (int i = 0; i < updated.size(); i++) {
+                    if (existing.get(i) == null) {
+                        throw new InvalidBulkRowException(ids.size() + i, "does not exist", "idnotfound", ids.size());
+                    }
+                    if (!alignVersion(updated.get(i), existing.get(i))) {
+                        throw new InvalidBulkRowException(ids.size() + i, "was modified since its version", "versionmismatch", ids.size());
+                    }
+                }
+                updated.forEach(entityManager::merge);
+            });
+            ids.addAll(chunkIds);
+            LOG.debug("Updated {} entities", ids.size());
+        }
+        return new BulkResultDTO(ids);
+    }
+
+    /**
+     * Delete entities. Ids of entities which do not exist are ignored.
+     *
+     * @param entityClass the class of the entities.
+     * @param ids the ids of the entities to delete.
+     * @return the ids of the deleted entities, in order.
+     */
+    public <T> BulkResultDTO deleteAll(Class<T> entityClass, Iterator<Long> ids) {
+        List<Long> deletedIds = new ArrayList<>();
+        for (List<Long> chunk = nextChunk(ids); !chunk.isEmpty(); chunk = nextChunk(ids)) {
+            List<Long> chunkIds = chunk.stream().filter(Objects::nonNull).distinct().toList();
+            transactionTemplate.executeWithoutResult(status ->
+                loadAll(entityClass, chunkIds)
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .forEach(entity -> {
+                        entityManager.remove(entity);
+                        deletedIds.add(getId(entity));
+                    })
+            );
+            LOG.debug("Deleted {} entities", deletedIds.size());
+        }
+        return new BulkResultDTO(deletedIds);
+    }
+
+    /**
+     * Load entities with a single query, the ones found in the second-level cache excepted.
+     *
+     * @return the entities, in the order of their ids, with {@code null} for the ones which do not exist.
+     */
+    private <T> List<T> loadAll(Class<T> entityClass, List<Long> ids) {
+        return entityManager.unwrap(Session.class).byMultipleIds(entityClass).withBatchSize(ids.size()).multiLoad(ids);
+    }
+
+    /**
+     * Give an updated entity without version the one of the existing entity, so that it replaces it whatever its version.
+     *
+     * @return whether the updated entity now has the version of the existing one.
+     */
+    private boolean alignVersion(Object updated, Object existing) {
+        EntityPersister persister = entityManager.unwrap(SessionImplementor.class).getEntityPersister(null, existing);
+        if (!persister.isVersioned()) {
+            return true;
+        }
+        Object version = persister.getVersion(existing);
+        Object expectedVersion = persister.getVersion(updated);
+        if (expectedVersion == null) {
+            persister.getVersionMapping().getVersionAttribute().setValue(updated, version);
+            return true;
+        }
+        return expectedVersion.equals(version);
+    }
+
+    private <T> List<T> nextChunk(Iterator<T> iterator) {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && iterator.hasNext()) {
+            chunk.add(iterator.next());
+        }
+        return chunk;
+    }
+
+    private Long getId(Object entity) {
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        return (Long) persistenceUnitUtil.getIdentifier(entity);
+    }
+}
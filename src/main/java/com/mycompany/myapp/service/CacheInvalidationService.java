@@ -0,0 +1,389 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping the local caches of the nodes of a cluster consistent, without an external broker.
+ * <p>
+ * Every node listens on a UDP port and knows the addresses of the other nodes from
+ * {@code application.cache.invalidation.members}. When a transaction commits changes to cached entities or collections,
+ * or when a Spring cache entry is evicted through {@link #evict(String, Object)}, the eviction is queued; queued
+ * evictions are coalesced and sent to every member in batches, every {@code flush-interval-ms}. A node receiving a batch
+ * evicts the entries from its own caches, and ignores the batches it sent itself, so that all nodes can share the same
+ * member list. Datagrams whose source is not a member are dropped: members are resolved once at startup, and each node
+ * sends from the address and port it listens on, so the bind address must be the one the other members list. Nothing
+ * else is authenticated, so the port should only be reachable from a private network.
+ * <p>
+ * Datagrams can be lost: a node missing an eviction keeps serving the stale entry until it expires, so regions shared by
+ * a cluster should have a time to live. Invalidation is disabled when {@code application.cache.invalidation.port} is 0.
+ */
+@Service
+public class CacheInvalidationService
+    implements
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener,
+        PostCollectionRecreateEventListener,
+        Integrator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    static final int MAX_DATAGRAM_SIZE = 8192;
+
+    private static final String ENTITY = "E";
+
+    private static final String COLLECTION = "C";
+
+    private static final String KEY = "K";
+
+    private static final String LONG_ID = "L";
+
+    private static final String STRING_ID = "S";
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final CacheManager cacheManager;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Set<String> pendingEvictions = new LinkedHashSet<>();
+
+    private final List<SocketAddress> members = new ArrayList<>();
+
+    private SessionFactoryImplementor sessionFactory;
+
+    private DatagramChannel channel;
+
+    private ScheduledExecutorService executor;
+
+    public CacheInvalidationService(ApplicationProperties applicationProperties, CacheManager cacheManager) {
+        this.properties = applicationProperties.getCache().getInvalidation();
+        this.cacheManager = cacheManager;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        for (String member : properties.getMembers()) {
+            int separator = member.lastIndexOf(':');
+            members.add(new InetSocketAddress(member.substring(0, separator), Integer.parseInt(member.substring(separator + 1))));
+        }
+        channel = DatagramChannel.open().bind(new InetSocketAddress(properties.getBindAddress(), properties.getPort()));
+        executor = Executors.newScheduledThreadPool(2, new CustomizableThreadFactory("cache-invalidation-"));
+        executor.execute(this::receive);
+        long flushIntervalMs = properties.getFlushIntervalMs();
+        executor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        LOG.info("Cache invalidation listening on port {}, with members {}", properties.getPort(), properties.getMembers());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        flush();
+        channel.close();
+    }
+
+    /**
+     * Evict an entry of a Spring cache, on this node and on the other nodes of the cluster.
+     * <p>
+     * Within a transaction, the eviction is only queued for the other nodes once the transaction commits, like the
+     * evictions of entities.
+     *
+     * @param cacheName the name of the cache.
+     * @param key the key of the entry.
+     */
+    public void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evictIfPresent(key);
+        }
+        if (!isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queue(KEY, cacheName, key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue(KEY, cacheName, key);
+                }
+            }
+        );
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        queueEntity(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        queueEntity(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        queueCollection(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        queueCollection(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        queueCollection(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.sessionFactory = sessionFactory;
+        EventListenerRegistry eventListenerRegistry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.POST_UPDATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_DELETE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.sessionFactory = null;
+    }
+
+    private boolean isEnabled() {
+        return properties.getPort() > 0;
+    }
+
+    private void queueEntity(EventSource session, EntityPersister persister, Object id) {
+        if (isEnabled() && persister.canWriteToCache()) {
+            queueOnCommit(session, ENTITY, persister.getEntityName(), id);
+        }
+    }
+
+    private void queueCollection(AbstractCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        if (
+            isEnabled() &&
+            role != null &&
+            event.getSession().getFactory().getMappingMetamodel().getCollectionDescriptor(role).hasCache()
+        ) {
+            queueOnCommit(event.getSession(), COLLECTION, role, event.getAffectedOwnerIdOrNull());
+        }
+    }
+
+    /**
+     * Queue an eviction once the transaction of a session commits, so that other nodes do not reload the entry before
+     * the change is visible.
+     */
+    private void queueOnCommit(EventSource session, String type, String region, Object id) {
+        session
+            .getActionQueue()
+            .registerProcess((success, completedSession) -> {
+                if (success) {
+                    queue(type, region, id);
+                }
+            });
+    }
+
+    private void queue(String type, String region, Object key) {
+        String eviction = type + '\t' + region + '\t' + encode(key);
+        synchronized (pendingEvictions) {
+            pendingEvictions.add(eviction);
+        }
+    }
+
+    /**
+     * Send the queued evictions to every member, as few datagrams as possible.
+     */
+    void flush() {
+        List<String> evictions;
+        synchronized (pendingEvictions) {
+            if (pendingEvictions.isEmpty()) {
+                return;
+            }
+            evictions = new ArrayList<>(pendingEvictions);
+            pendingEvictions.clear();
+        }
+        byte[] header = (nodeId + '\n').getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream datagram = new ByteArrayOutputStream(MAX_DATAGRAM_SIZE);
+        datagram.writeBytes(header);
+        for (String eviction : evictions) {
+            byte[] line = (eviction + '\n').getBytes(StandardCharsets.UTF_8);
+            if (datagram.size() + line.length > MAX_DATAGRAM_SIZE && datagram.size() > header.length) {
+                send(datagram.toByteArray());
+                datagram.reset();
+                datagram.writeBytes(header);
+            }
+            datagram.writeBytes(line);
+        }
+        send(datagram.toByteArray());
+        LOG.debug("Sent {} cache evictions to {} members", evictions.size(), members.size());
+    }
+
+    private void send(byte[] datagram) {
+        for (SocketAddress member : members) {
+            try {
+                channel.send(ByteBuffer.wrap(datagram), member);
+            } catch (IOException e) {
+                LOG.warn("Could not send cache evictions to {}: {}", member, e.getMessage());
+            }
+        }
+    }
+
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocate(65536);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                SocketAddress source = channel.receive(buffer);
+                if (!members.contains(source)) {
+                    LOG.debug("Dropped cache evictions from {}, which is not a member", source);
+                    continue;
+                }
+                buffer.flip();
+                apply(StandardCharsets.UTF_8.decode(buffer).toString());
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Could not apply cache evictions: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void apply(String datagram) {
+        String[] lines = datagram.split("\n");
+        if (lines[0].equals(nodeId)) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            String[] eviction = lines[i].split("\t", 3);
+            Object key = decode(eviction[2]);
+            switch (eviction[0]) {
+                case ENTITY -> evictEntity(eviction[1], key);
+                case COLLECTION -> evictCollection(eviction[1], key);
+                case KEY -> evictKey(eviction[1], key);
+                default -> LOG.warn("Unknown cache eviction: {}", lines[i]);
+            }
+        }
+        LOG.debug("Applied {} cache evictions from {}", lines.length - 1, lines[0]);
+    }
+
+    private void evictEntity(String entityName, Object id) {
+        if (sessionFactory == null) {
+            return;
+        }
+        if (id == null) {
+            sessionFactory.getCache().evictEntityData(entityName);
+        } else {
+            sessionFactory.getCache().evictEntityData(entityName, id);
+        }
+    }
+
+    private void evictCollection(String role, Object ownerId) {
+        if (sessionFactory == null) {
+            return;
+        }
+        if (ownerId == null) {
+            sessionFactory.getCache().evictCollectionData(role);
+        } else {
+            sessionFactory.getCache().evictCollectionData(role, ownerId);
+        }
+    }
+
+    private void evictKey(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evictIfPresent(key);
+        }
+    }
+
+    /**
+     * Encode a key as its type and value, or as an empty string, evicting the whole region, when it cannot be encoded.
+     */
+    private static String encode(Object key) {
+        if (key instanceof Long) {
+            return LONG_ID + key;
+        }
+        if (key instanceof String value && value.indexOf('\t') < 0 && value.indexOf('\n') < 0) {
+            return STRING_ID + value;
+        }
+        return "";
+    }
+
+    private static Object decode(String key) {
+        if (key.startsWith(LONG_ID)) {
+            return Long.valueOf(key.substring(LONG_ID.length()));
+        }
+        if (key.startsWith(STRING_ID)) {
+            return key.substring(STRING_ID.length());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,236 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.AbstractAuditingEntity;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service filling the second-level cache regions at startup, before the application reports itself ready.
+ * <p>
+ * Each entity region of {@code application.cache.regions} with a {@code warm-up-size} is filled with up to that many
+ * entities: the ones it held at the previous shutdown when {@code application.cache.warm-up.snapshot-path} is set and a
+ * snapshot was saved, the most recently modified ones otherwise, or the most recently created ones for entities without
+ * modification date. Entities are loaded in batches by several threads, for at most
+ * {@code application.cache.warm-up.timeout-ms} milliseconds.
+ * <p>
+ * Application runners run before the readiness state turns to {@code ACCEPTING_TRAFFIC}, so the readiness probe only
+ * reports UP once the warm-up is over.
+ */
+@Service
+public class CacheWarmUpService implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final EntityManager entityManager;
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Cache cacheProperties;
+
+    public CacheWarmUpService(
+        EntityManagerFactory entityManagerFactory,
+        EntityManager entityManager,
+        javax.cache.CacheManager cacheManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Fill the entity regions having a warm-up size.
+     *
+     * @return the number of entities loaded.
+     */
+    public long warmUp() {
+        Map<EntityType<?>, Integer> warmUpSizes = getWarmUpSizes();
+        if (warmUpSizes.isEmpty()) {
+            return 0;
+        }
+        ApplicationProperties.Cache.WarmUp properties = cacheProperties.getWarmUp();
+        Properties snapshot = readSnapshot();
+        List<Callable<Integer>> batches = new ArrayList<>();
+        for (Map.Entry<EntityType<?>, Integer> warmUpSize : warmUpSizes.entrySet()) {
+            EntityType<?> entityType = warmUpSize.getKey();
+            String ids = snapshot.getProperty(entityType.getJavaType().getName());
+            List<Object> hotIds = ids != null
+                ? Arrays.stream(ids.split(","))
+                    .filter(id -> !id.isEmpty())
+                    .limit(warmUpSize.getValue())
+                    .map(id -> parseId(entityType, id))
+                    .toList()
+                : getRecentIds(entityType, warmUpSize.getValue());
+            for (int i = 0; i < hotIds.size(); i += properties.getBatchSize()) {
+                List<Object> batch = hotIds.subList(i, Math.min(i + properties.getBatchSize(), hotIds.size()));
+                batches.add(() -> load(entityType.getJavaType(), batch));
+            }
+        }
+
+        long start = System.nanoTime();
+        long loaded = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("cache-warm-up-"));
+        try {
+            for (Future<Integer> batch : executor.invokeAll(batches, properties.getTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                if (batch.isCancelled()) {
+                    LOG.warn("Cache warm-up timed out after {} ms", properties.getTimeoutMs());
+                    break;
+                }
+                loaded += batch.get();
+            }
+        } catch (ExecutionException e) {
+            LOG.warn("Cache warm-up failed: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        LOG.info("Warmed up the cache with {} entities in {} ms", loaded, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return loaded;
+    }
+
+    /**
+     * Save the ids of the entities held by the regions having a warm-up size, for the warm-up of the next startup.
+     */
+    @PreDestroy
+    public void saveSnapshot() {
+        String snapshotPath = cacheProperties.getWarmUp().getSnapshotPath();
+        Map<EntityType<?>, Integer> warmUpSizes = getWarmUpSizes();
+        if (snapshotPath == null || warmUpSizes.isEmpty()) {
+            return;
+        }
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Properties snapshot = new Properties();
+        for (Map.Entry<EntityType<?>, Integer> warmUpSize : warmUpSizes.entrySet()) {
+            Class<?> entityClass = warmUpSize.getKey().getJavaType();
+            javax.cache.Cache<Object, Object> cache = cacheManager.getCache(entityClass.getName());
+            EntityDataAccess cacheAccess = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass).getCacheAccessStrategy();
+            if (cache == null || cacheAccess == null) {
+                continue;
+            }
+            List<String> ids = new ArrayList<>();
+            for (javax.cache.Cache.Entry<Object, Object> entry : cache) {
+                if (ids.size() == warmUpSize.getValue()) {
+                    break;
+                }
+                ids.add(String.valueOf(cacheAccess.getCacheKeyId(entry.getKey())));
+            }
+            snapshot.setProperty(entityClass.getName(), String.join(",", ids));
+        }
+        try (Writer writer = Files.newBufferedWriter(Path.of(snapshotPath))) {
+            snapshot.store(writer, "Ids of the entities held by the cache regions");
+            LOG.debug("Saved the cache snapshot to {}", snapshotPath);
+        } catch (IOException e) {
+            LOG.warn("Could not save the cache snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private Map<EntityType<?>, Integer> getWarmUpSizes() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (!sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            return Map.of();
+        }
+        Map<String, ApplicationProperties.Cache.Region> regions = cacheProperties.getRegions();
+        return entityManagerFactory
+            .getMetamodel()
+            .getEntities()
+            .stream()
+            .filter(entityType -> regions.containsKey(entityType.getJavaType().getName()))
+            .filter(entityType -> regions.get(entityType.getJavaType().getName()).getWarmUpSize() > 0)
+            .collect(
+                Collectors.toMap(
+                    entityType -> entityType,
+                    entityType -> regions.get(entityType.getJavaType().getName()).getWarmUpSize(),
+                    (first, second) -> first,
+                    LinkedHashMap::new
+                )
+            );
+    }
+
+    private Properties readSnapshot() {
+        Properties snapshot = new Properties();
+        String snapshotPath = cacheProperties.getWarmUp().getSnapshotPath();
+        if (snapshotPath != null && Files.exists(Path.of(snapshotPath))) {
+            try (Reader reader = Files.newBufferedReader(Path.of(snapshotPath))) {
+                snapshot.load(reader);
+            } catch (IOException e) {
+                LOG.warn("Could not read the cache snapshot from {}: {}", snapshotPath, e.getMessage());
+            }
+        }
+        return snapshot;
+    }
+
+    private List<Object> getRecentIds(EntityType<?> entityType, int size) {
+        String idName = entityType.getId(entityType.getIdType().getJavaType()).getName();
+        String orderBy = AbstractAuditingEntity.class.isAssignableFrom(entityType.getJavaType()) ? "lastModifiedDate" : idName;
+        return transactionTemplate.execute(status ->
+            entityManager
+                .createQuery("select e." + idName + " from " + entityType.getName() + " e order by e." + orderBy + " desc", Object.class)
+                .setMaxResults(size)
+                .getResultList()
+        );
+    }
+
+    private static Object parseId(EntityType<?> entityType, String id) {
+        return Long.class.equals(entityType.getIdType().getJavaType()) ? Long.valueOf(id) : id;
+    }
+
+    private int load(Class<?> entityClass, List<Object> ids) {
+        return transactionTemplate.execute(status ->
+            (int) entityManager
+                .unwrap(Session.class)
+                .byMultipleIds(entityClass)
+                .withBatchSize(ids.size())
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .count()
+        );
+    }
+}
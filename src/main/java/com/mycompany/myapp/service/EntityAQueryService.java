@@ -0,0 +1,117 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.*; // for static metamodels
+import com.mycompany.myapp.domain.EntityA;
+import com.mycompany.myapp.repository.EntityARepository;
+import com.mycompany.myapp.service.criteria.EntityACriteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link EntityA} entities in the database.
+ * The main input is a {@link EntityACriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} of {@link EntityA} which fulfills the criteria.
+ * <p>
+ * Results are always ordered by id last, so that pages do not overlap when the requested order has ties.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EntityAQueryService extends QueryService<EntityA> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityAQueryService.class);
+
+    private final EntityARepository entityARepository;
+
+    public EntityAQueryService(EntityARepository entityARepository) {
+        this.entityARepository = entityARepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link EntityA} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    public Page<EntityA> findByCriteria(EntityACriteria criteria, Pageable page) {
+        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<EntityA> specification = createSpecification(criteria);
+        return entityARepository.findAll(specification, withStableOrder(page));
+    }
+
+    /**
+     * Return a {@link Slice} of {@link EntityA} which matches the criteria from the database, without counting them.
+     * <p>
+     * One more entity than the page size is read to know whether there is a next slice.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    public Slice<EntityA> findSliceByCriteria(EntityACriteria criteria, Pageable page) {
+        LOG.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<EntityA> specification = createSpecification(criteria);
+        Pageable stablePage = withStableOrder(page);
+        ScrollPosition position = stablePage.getOffset() == 0
+            ? ScrollPosition.offset()
+            : ScrollPosition.offset(stablePage.getOffset() - 1);
+        Window<EntityA> window = entityARepository.findBy(specification, query ->
+            query.sortBy(stablePage.getSort()).limit(stablePage.getPageSize()).scroll(position)
+        );
+        return new SliceImpl<>(window.getContent(), stablePage, window.hasNext());
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    public long countByCriteria(EntityACriteria criteria) {
+        LOG.debug("count by criteria : {}", criteria);
+        final Specification<EntityA> specification = createSpecification(criteria);
+        return entityARepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link EntityACriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<EntityA> createSpecification(EntityACriteria criteria) {
+        Specification<EntityA> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), EntityA_.id));
+            }
+            if (criteria.getName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getName(), EntityA_.name));
+            }
+            if (criteria.getTitle() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getTitle(), EntityA_.title));
+            }
+            if (criteria.getDescription() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getDescription(), EntityA_.description));
+            }
+        }
+        return specification;
+    }
+
+    private static Pageable withStableOrder(Pageable page) {
+        if (page.getSort().getOrderFor(EntityA_.ID) != null) {
+            return page;
+        }
+        Sort sort = page.getSort().and(Sort.by(EntityA_.ID));
+        return page.isPaged() ? PageRequest.of(page.getPageNumber(), page.getPageSize(), sort) : Pageable.unpaged(sort);
+    }
+}
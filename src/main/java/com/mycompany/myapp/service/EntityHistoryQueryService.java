@@ -0,0 +1,153 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.*; // for static metamodels
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.repository.EntityHistoryRepository;
+import com.mycompany.myapp.service.criteria.EntityHistoryCriteria;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link EntityHistory} entities in the database.
+ * The main input is a {@link EntityHistoryCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link EntityHistory} which fulfills the criteria.
+ * <p>
+ * Results are ordered by creation date then id, and paginated with a keyset: a page starts right after the last
+ * entityHistory of the previous one instead of at an offset, so that fetching any page costs an index seek whatever
+ * the size of the table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EntityHistoryQueryService extends QueryService<EntityHistory> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityHistoryQueryService.class);
+
+    private static final Sort KEYSET_ORDER = Sort.by(EntityHistory_.CREATION_DATE, EntityHistory_.ID);
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final EntityHistoryRepository entityHistoryRepository;
+
+    private final EntityManager entityManager;
+
+    public EntityHistoryQueryService(EntityHistoryRepository entityHistoryRepository, EntityManager entityManager) {
+        this.entityHistoryRepository = entityHistoryRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Return a page of {@link EntityHistory} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param afterCreationDate The creation date of the last entity of the previous page, if any.
+     * @param afterId The id of the last entity of the previous page, if any.
+     * @param size The maximum number of entities to return.
+     * @return the matching entities.
+     */
+    public List<EntityHistory> findByCriteria(EntityHistoryCriteria criteria, ZonedDateTime afterCreationDate, Long afterId, int size) {
+        LOG.debug("find by criteria : {}, after : {} {}, size : {}", criteria, afterCreationDate, afterId, size);
+        Specification<EntityHistory> specification = createSpecification(criteria);
+        if (afterCreationDate != null && afterId != null) {
+            specification = specification.and(after(afterCreationDate, afterId));
+        }
+        return entityHistoryRepository.findBy(specification, query -> query.sortBy(KEYSET_ORDER).limit(size).all());
+    }
+
+    /**
+     * Pass every {@link EntityHistory} which matches the criteria to a consumer, in chronological order.
+     * <p>
+     * Rows are read through a forward-only cursor, {@value #STREAM_FETCH_SIZE} at a time, bypass the second-level cache
+     * and are detached once consumed, so that memory use does not depend on the number of matching rows.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param consumer The consumer of the matching entities.
+     */
+    public void streamByCriteria(EntityHistoryCriteria criteria, Consumer<EntityHistory> consumer) {
+        LOG.debug("stream by criteria : {}", criteria);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EntityHistory> query = builder.createQuery(EntityHistory.class);
+        Root<EntityHistory> root = query.from(EntityHistory.class);
+        Predicate predicate = createSpecification(criteria).toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(builder.asc(root.get(EntityHistory_.creationDate)), builder.asc(root.get(EntityHistory_.id)));
+        try (
+            Stream<EntityHistory> stream = entityManager
+                .createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS)
+                .getResultStream()
+        ) {
+            stream.forEach(entityHistory -> {
+                consumer.accept(entityHistory);
+                entityManager.detach(entityHistory);
+            });
+        }
+    }
+
+    /**
+     * Function to convert {@link EntityHistoryCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<EntityHistory> createSpecification(EntityHistoryCriteria criteria) {
+        Specification<EntityHistory> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), EntityHistory_.id));
+            }
+            if (criteria.getUserLogin() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getUserLogin(), EntityHistory_.userLogin));
+            }
+            if (criteria.getEntityName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getEntityName(), EntityHistory_.entityName));
+            }
+            if (criteria.getEntityId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getEntityId(), EntityHistory_.entityId));
+            }
+            if (criteria.getActionType() != null) {
+                specification = specification.and(buildSpecification(criteria.getActionType(), EntityHistory_.actionType));
+            }
+            if (criteria.getCreationDate() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getCreationDate(), EntityHistory_.creationDate));
+            }
+        }
+        return specification;
+    }
+
+    /**
+     * The records after a keyset position. The redundant lower bound on the creation date lets the database start an
+     * index range scan at the position, and skip the partitions before it, which the disjunction alone does not.
+     */
+    Specification<EntityHistory> after(ZonedDateTime creationDate, Long id) {
+        return (root, query, builder) ->
+            builder.and(
+                builder.greaterThanOrEqualTo(root.get(EntityHistory_.creationDate), creationDate),
+                builder.or(
+                    builder.greaterThan(root.get(EntityHistory_.creationDate), creationDate),
+                    builder.and(
+                        builder.equal(root.get(EntityHistory_.creationDate), creationDate),
+                        builder.greaterThan(root.get(EntityHistory_.id), id)
+                    )
+                )
+            );
+    }
+}
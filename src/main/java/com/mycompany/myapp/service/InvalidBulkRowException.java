@@ -0,0 +1,27 @@
+package com.mycompany.myapp.service;
+
+/**
+ * Thrown when a row of a bulk operation cannot be processed, which stops the operation at the chunk holding that row.
+ */
+public class InvalidBulkRowException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    private final long committedRows;
+
+    public InvalidBulkRowException(long row, String reason, String errorKey, long committedRows) {
+        super("Row " + row + " " + reason + ", the " + committedRows + " rows before its chunk were committed");
+        this.errorKey = errorKey;
+        this.committedRows = committedRows;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+
+    public long getCommittedRows() {
+        return committedRows;
+    }
+}
@@ -15,10 +15,11 @@ import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,7 +30,7 @@ import tech.jhipster.security.RandomUtil;
  */
 @Service
 @Transactional
-public class UserService {
+public class UserService implements UserDetailsPasswordService {
 
     private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
 
@@ -39,18 +40,18 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    private final CacheManager cacheManager;
+    private final CacheInvalidationService cacheInvalidationService;
 
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheInvalidationService cacheInvalidationService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
-        this.cacheManager = cacheManager;
+        this.cacheInvalidationService = cacheInvalidationService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -315,10 +316,26 @@ public class UserService {
         return authorityRepository.findAll().stream().map(Authority::getName).toList();
     }
 
+    /**
+     * Store the hash of the password of a user who just logged in with a password hashed with an outdated algorithm or
+     * work factor.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        LOG.debug("Upgrading the password hash of {}", user.getUsername());
+        userRepository
+            .findOneByLogin(user.getUsername())
+            .ifPresent(existingUser -> {
+                existingUser.setPassword(newPassword);
+                this.clearUserCaches(existingUser);
+            });
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+
     private void clearUserCaches(User user) {
-        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
+        cacheInvalidationService.evict(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
         if (user.getEmail() != null) {
-            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
+            cacheInvalidationService.evict(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail());
         }
     }
 }
@@ -0,0 +1,131 @@
+package com.mycompany.myapp.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.mycompany.myapp.domain.EntityB} entity. This class is used
+ * in {@link com.mycompany.myapp.web.rest.EntityBResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /entity-bs?lastName.equals=Smith&id.lessThan=1051}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EntityBCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter firstName;
+
+    private StringFilter lastName;
+
+    public EntityBCriteria() {}
+
+    public EntityBCriteria(EntityBCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.firstName = other.optionalFirstName().map(StringFilter::copy).orElse(null);
+        this.lastName = other.optionalLastName().map(StringFilter::copy).orElse(null);
+    }
+
+    @Override
+    public EntityBCriteria copy() {
+        return new EntityBCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getFirstName() {
+        return firstName;
+    }
+
+    public Optional<StringFilter> optionalFirstName() {
+        return Optional.ofNullable(firstName);
+    }
+
+    public StringFilter firstName() {
+        if (firstName == null) {
+            setFirstName(new StringFilter());
+        }
+        return firstName;
+    }
+
+    public void setFirstName(StringFilter firstName) {
+        this.firstName = firstName;
+    }
+
+    public StringFilter getLastName() {
+        return lastName;
+    }
+
+    public Optional<StringFilter> optionalLastName() {
+        return Optional.ofNullable(lastName);
+    }
+
+    public StringFilter lastName() {
+        if (lastName == null) {
+            setLastName(new StringFilter());
+        }
+        return lastName;
+    }
+
+    public void setLastName(StringFilter lastName) {
+        this.lastName = lastName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final EntityBCriteria that = (EntityBCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(firstName, that.firstName) &&
+            Objects.equals(lastName, that.lastName)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, firstName, lastName);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityBCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalFirstName().map(f -> "firstName=" + f + ", ").orElse("") +
+            optionalLastName().map(f -> "lastName=" + f + ", ").orElse("") +
+        "}";
+    }
+}
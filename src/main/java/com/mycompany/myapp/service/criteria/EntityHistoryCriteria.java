@@ -0,0 +1,221 @@
+package com.mycompany.myapp.service.criteria;
+
+import com.mycompany.myapp.domain.enumeration.Action;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.mycompany.myapp.domain.EntityHistory} entity. This class is used
+ * in {@link com.mycompany.myapp.web.rest.EntityHistoryResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /entity-histories?entityName.equals=EntityA&entityId.equals=1051&creationDate.greaterThan=2025-01-28T00:00:00Z}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EntityHistoryCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering Action
+     */
+    public static class ActionFilter extends Filter<Action> {
+
+        public ActionFilter() {}
+
+        public ActionFilter(ActionFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public ActionFilter copy() {
+            return new ActionFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter userLogin;
+
+    private StringFilter entityName;
+
+    private LongFilter entityId;
+
+    private ActionFilter actionType;
+
+    private ZonedDateTimeFilter creationDate;
+
+    public EntityHistoryCriteria() {}
+
+    public EntityHistoryCriteria(EntityHistoryCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.userLogin = other.optionalUserLogin().map(StringFilter::copy).orElse(null);
+        this.entityName = other.optionalEntityName().map(StringFilter::copy).orElse(null);
+        this.entityId = other.optionalEntityId().map(LongFilter::copy).orElse(null);
+        this.actionType = other.optionalActionType().map(ActionFilter::copy).orElse(null);
+        this.creationDate = other.optionalCreationDate().map(ZonedDateTimeFilter::copy).orElse(null);
+    }
+
+    @Override
+    public EntityHistoryCriteria copy() {
+        return new EntityHistoryCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getUserLogin() {
+        return userLogin;
+    }
+
+    public Optional<StringFilter> optionalUserLogin() {
+        return Optional.ofNullable(userLogin);
+    }
+
+    public StringFilter userLogin() {
+        if (userLogin == null) {
+            setUserLogin(new StringFilter());
+        }
+        return userLogin;
+    }
+
+    public void setUserLogin(StringFilter userLogin) {
+        this.userLogin = userLogin;
+    }
+
+    public StringFilter getEntityName() {
+        return entityName;
+    }
+
+    public Optional<StringFilter> optionalEntityName() {
+        return Optional.ofNullable(entityName);
+    }
+
+    public StringFilter entityName() {
+        if (entityName == null) {
+            setEntityName(new StringFilter());
+        }
+        return entityName;
+    }
+
+    public void setEntityName(StringFilter entityName) {
+        this.entityName = entityName;
+    }
+
+    public LongFilter getEntityId() {
+        return entityId;
+    }
+
+    public Optional<LongFilter> optionalEntityId() {
+        return Optional.ofNullable(entityId);
+    }
+
+    public LongFilter entityId() {
+        if (entityId == null) {
+            setEntityId(new LongFilter());
+        }
+        return entityId;
+    }
+
+    public void setEntityId(LongFilter entityId) {
+        this.entityId = entityId;
+    }
+
+    public ActionFilter getActionType() {
+        return actionType;
+    }
+
+    public Optional<ActionFilter> optionalActionType() {
+        return Optional.ofNullable(actionType);
+    }
+
+    public ActionFilter actionType() {
+        if (actionType == null) {
+            setActionType(new ActionFilter());
+        }
+        return actionType;
+    }
+
+    public void setActionType(ActionFilter actionType) {
+        this.actionType = actionType;
+    }
+
+    public ZonedDateTimeFilter getCreationDate() {
+        return creationDate;
+    }
+
+    public Optional<ZonedDateTimeFilter> optionalCreationDate() {
+        return Optional.ofNullable(creationDate);
+    }
+
+    public ZonedDateTimeFilter creationDate() {
+        if (creationDate == null) {
+            setCreationDate(new ZonedDateTimeFilter());
+        }
+        return creationDate;
+    }
+
+    public void setCreationDate(ZonedDateTimeFilter creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final EntityHistoryCriteria that = (EntityHistoryCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(userLogin, that.userLogin) &&
+            Objects.equals(entityName, that.entityName) &&
+            Objects.equals(entityId, that.entityId) &&
+            Objects.equals(actionType, that.actionType) &&
+            Objects.equals(creationDate, that.creationDate)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, userLogin, entityName, entityId, actionType, creationDate);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityHistoryCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalUserLogin().map(f -> "userLogin=" + f + ", ").orElse("") +
+            optionalEntityName().map(f -> "entityName=" + f + ", ").orElse("") +
+            optionalEntityId().map(f -> "entityId=" + f + ", ").orElse("") +
+            optionalActionType().map(f -> "actionType=" + f + ", ").orElse("") +
+            optionalCreationDate().map(f -> "creationDate=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Criteria used to filter entities from HTTP GET request parameters.
+ */
+package com.mycompany.myapp.service.criteria;
@@ -0,0 +1,48 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a bulk operation - the number and ids of the entities it saved or deleted.
+ */
+public class BulkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int count;
+    private List<Long> ids;
+
+    public BulkResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkResultDTO(List<Long> ids) {
+        this.count = ids.size();
+        this.ids = ids;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkResultDTO{" +
+            "count=" + count +
+            "}";
+    }
+}
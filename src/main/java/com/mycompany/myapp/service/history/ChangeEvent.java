@@ -0,0 +1,27 @@
+package com.mycompany.myapp.service.history;
+
+import com.mycompany.myapp.domain.enumeration.Action;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * A committed change to an audited entity, as delivered to the {@link ChangeEventSink}s.
+ *
+ * @param id the id of the {@link com.mycompany.myapp.domain.EntityHistory} recording the change, unique and increasing
+ *           for a given entity, which sinks can use to ignore a change delivered twice.
+ * @param entityName the simple class name of the entity.
+ * @param entityId the id of the entity.
+ * @param action the kind of change.
+ * @param userLogin the login of the user who made the change.
+ * @param creationDate when the change was made.
+ * @param state all the fields of the entity after the change, or before a deletion.
+ */
+public record ChangeEvent(
+    Long id,
+    String entityName,
+    Long entityId,
+    Action action,
+    String userLogin,
+    ZonedDateTime creationDate,
+    Map<String, Object> state
+) {}
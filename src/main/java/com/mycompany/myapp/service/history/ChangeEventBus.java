@@ -0,0 +1,86 @@
+package com.mycompany.myapp.service.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-process bus delivering every committed {@link ChangeEvent} to all the {@link ChangeEventSink} beans.
+ * <p>
+ * Changes are published by the {@link EntityHistoryOutboxRelay} once it has written them to the history, so that
+ * sinks are fed from the same capture point as {@link com.mycompany.myapp.domain.EntityHistory}. Each sink has its own
+ * backlog of at most {@code application.entity-history.sink-backlog-size} changes and its own delivery thread, and
+ * declares what to do when its backlog is full. The backlog, lag, and delivered, failed, dropped and spilled changes of
+ * each sink are published as {@code change.events.*} meters, tagged with the name of the sink.
+ */
+@Service
+public class ChangeEventBus implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    private static final long STOP_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+
+    private final List<ChangeEventSinkChannel> channels;
+
+    private volatile boolean running;
+
+    public ChangeEventBus(
+        ObjectProvider<ChangeEventSink> sinks,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        int backlogSize = applicationProperties.getEntityHistory().getSinkBacklogSize();
+        this.channels = sinks
+            .orderedStream()
+            .map(sink -> {
+                LOG.info("Registering change event sink {}, with policy {}", sink.getName(), sink.getBackPressurePolicy());
+                return new ChangeEventSinkChannel(sink, backlogSize, objectMapper, meterRegistry);
+            })
+            .toList();
+    }
+
+    /**
+     * @return {@code true} if at least one sink is registered.
+     */
+    public boolean hasSinks() {
+        return !channels.isEmpty();
+    }
+
+    /**
+     * Publish committed changes to every sink, in order.
+     * <p>
+     * This only waits for sinks with the {@link ChangeEventSink.BackPressurePolicy#BLOCK} policy and a full backlog.
+     *
+     * @param events the changes.
+     */
+    public void publish(List<ChangeEvent> events) {
+        for (ChangeEventSinkChannel channel : channels) {
+            events.forEach(channel::publish);
+        }
+    }
+
+    @Override
+    public void start() {
+        channels.forEach(ChangeEventSinkChannel::start);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        channels.forEach(channel -> channel.stop(STOP_TIMEOUT_MS));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mycompany.myapp.service.history;
+
+/**
+ * A consumer of {@link ChangeEvent}s, such as a search indexer or a cache invalidator.
+ * <p>
+ * Any bean implementing this interface is registered with the {@link ChangeEventBus}, which delivers it every change
+ * once it is committed, in order, from a thread dedicated to this sink. A slow or failing sink delays no other sink, and
+ * never the transactions making the changes.
+ */
+public interface ChangeEventSink {
+    /**
+     * What to do with a change when the backlog of a sink is full.
+     */
+    enum BackPressurePolicy {
+        /**
+         * Wait for the sink to catch up, which delays the relay of the outbox to every other sink and to the history.
+         */
+        BLOCK,
+        /**
+         * Drop the change.
+         */
+        DROP,
+        /**
+         * Write the change to a temporary file, delivered once the backlog is empty.
+         */
+        SPILL,
+    }
+
+    /**
+     * @return the name of this sink, used in logs and metrics.
+     */
+    String getName();
+
+    /**
+     * @return what to do with a change when the backlog of this sink is full.
+     */
+    default BackPressurePolicy getBackPressurePolicy() {
+        return BackPressurePolicy.DROP;
+    }
+
+    /**
+     * Handle a change. Exceptions are logged, and do not stop the delivery of the next changes.
+     *
+     * @param event the change.
+     */
+    void accept(ChangeEvent event);
+}
@@ -0,0 +1,268 @@
+package com.mycompany.myapp.service.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The backlog of a {@link ChangeEventSink}, and the thread delivering it.
+ * <p>
+ * Producers and the delivery thread share a lock-free queue, bounded by counting its size: the delivery thread parks
+ * when the backlog is empty and is unparked by producers. Only spilling, which writes to a file, takes a lock.
+ */
+class ChangeEventSinkChannel {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeEventSinkChannel.class);
+
+    static final String METER_NAME_PREFIX = "change.events.";
+    static final String SINK_DIMENSION = "sink";
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ChangeEventSink sink;
+
+    private final ChangeEventSink.BackPressurePolicy policy;
+
+    private final int capacity;
+
+    private final ObjectMapper objectMapper;
+
+    private final Queue<ChangeEvent> backlog = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger backlogSize = new AtomicInteger();
+
+    private final AtomicLong lag = new AtomicLong();
+
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final Counter spilledCounter;
+
+    private final Object spillLock = new Object();
+
+    private volatile boolean spilling;
+
+    private Path spillFile;
+
+    private BufferedWriter spillWriter;
+
+    private BufferedReader spillReader;
+
+    private long spilledUnread;
+
+    private volatile boolean running;
+
+    private volatile Thread deliveryThread;
+
+    ChangeEventSinkChannel(ChangeEventSink sink, int capacity, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.sink = sink;
+        this.policy = sink.getBackPressurePolicy();
+        this.capacity = Math.max(1, capacity);
+        this.objectMapper = objectMapper;
+        Gauge.builder(METER_NAME_PREFIX + "lag", lag, AtomicLong::get)
+            .description("Changes published to the sink and not delivered yet, including spilled ones.")
+            .baseUnit("events")
+            .tag(SINK_DIMENSION, sink.getName())
+            .register(registry);
+        Gauge.builder(METER_NAME_PREFIX + "backlog", backlogSize, AtomicInteger::get)
+            .description("Changes waiting in the in-memory backlog of the sink.")
+            .baseUnit("events")
+            .tag(SINK_DIMENSION, sink.getName())
+            .register(registry);
+        this.deliveredCounter = counter("delivered", "Changes delivered to the sink.", registry);
+        this.failedCounter = counter("failed", "Changes the sink failed to handle.", registry);
+        this.droppedCounter = counter("dropped", "Changes dropped as the backlog of the sink was full.", registry);
+        this.spilledCounter = counter("spilled", "Changes written to a file as the backlog of the sink was full.", registry);
+    }
+
+    private Counter counter(String name, String description, MeterRegistry registry) {
+        return Counter.builder(METER_NAME_PREFIX + name)
+            .description(description)
+            .baseUnit("events")
+            .tag(SINK_DIMENSION, sink.getName())
+            .register(registry);
+    }
+
+    void start() {
+        running = true;
+        deliveryThread = new Thread(this::deliver, "change-event-sink-" + sink.getName());
+        deliveryThread.setDaemon(true);
+        deliveryThread.start();
+    }
+
+    void stop(long timeoutMs) {
+        running = false;
+        Thread thread = deliveryThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (lag.get() > 0) {
+            LOG.warn("Change event sink {} stopped with {} changes not delivered", sink.getName(), lag.get());
+        }
+    }
+
+    void publish(ChangeEvent event) {
+        if (spilling) {
+            spill(event);
+            return;
+        }
+        if (!offer(event)) {
+            switch (policy) {
+                case BLOCK -> {
+                    while (!offer(event)) {
+                        if (!running) {
+                            droppedCounter.increment();
+                            return;
+                        }
+                        LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                    }
+                }
+                case DROP -> {
+                    droppedCounter.increment();
+                    return;
+                }
+                case SPILL -> {
+                    spill(event);
+                    return;
+                }
+            }
+        }
+        LockSupport.unpark(deliveryThread);
+    }
+
+    private boolean offer(ChangeEvent event) {
+        if (backlogSize.incrementAndGet() > capacity) {
+            backlogSize.decrementAndGet();
+            return false;
+        }
+        lag.incrementAndGet();
+        backlog.offer(event);
+        return true;
+    }
+
+    private void deliver() {
+        while (running || lag.get() > 0) {
+            ChangeEvent event = backlog.poll();
+            if (event != null) {
+                backlogSize.decrementAndGet();
+            } else {
+                event = unspill();
+            }
+            if (event == null) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                sink.accept(event);
+                deliveredCounter.increment();
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                LOG.warn(
+                    "Change event sink {} failed on {} of {} {}: {}",
+                    sink.getName(),
+                    event.action(),
+                    event.entityName(),
+                    event.entityId(),
+                    e.getMessage()
+                );
+            } finally {
+                lag.decrementAndGet();
+            }
+        }
+    }
+
+    private void spill(ChangeEvent event) {
+        synchronized (spillLock) {
+            try {
+                if (spillWriter == null) {
+                    spillFile = Files.createTempFile("change-events-" + sink.getName() + "-", ".ndjson");
+                    spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8);
+                    spillReader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8);
+                    LOG.info("Backlog of change event sink {} is full, spilling to {}", sink.getName(), spillFile);
+                }
+                spillWriter.write(objectMapper.writeValueAsString(event));
+                spillWriter.newLine();
+                spilling = true;
+                spilledUnread++;
+                lag.incrementAndGet();
+                spilledCounter.increment();
+            } catch (IOException e) {
+                LOG.error("Could not spill change event for sink {}, dropping it: {}", sink.getName(), e.getMessage());
+                droppedCounter.increment();
+            }
+        }
+        LockSupport.unpark(deliveryThread);
+    }
+
+    /**
+     * The next spilled change, or {@code null} once they have all been read, which ends spilling.
+     */
+    private ChangeEvent unspill() {
+        if (!spilling) {
+            return null;
+        }
+        synchronized (spillLock) {
+            try {
+                spillWriter.flush();
+                String line;
+                while ((line = spillReader.readLine()) != null) {
+                    spilledUnread--;
+                    try {
+                        return objectMapper.readValue(line, ChangeEvent.class);
+                    } catch (JsonProcessingException e) {
+                        LOG.error("Could not read a spilled change event for sink {}, dropping it: {}", sink.getName(), e.getMessage());
+                        droppedCounter.increment();
+                        lag.decrementAndGet();
+                    }
+                }
+            } catch (IOException e) {
+                LOG.error("Could not read the spilled change events for sink {}, dropping them: {}", sink.getName(), e.getMessage());
+                droppedCounter.increment(spilledUnread);
+                lag.addAndGet(-spilledUnread);
+            }
+            closeSpillFile();
+            return null;
+        }
+    }
+
+    private void closeSpillFile() {
+        spilling = false;
+        try {
+            spillWriter.close();
+            spillReader.close();
+            Files.deleteIfExists(spillFile);
+        } catch (IOException e) {
+            LOG.warn("Could not delete spill file {}: {}", spillFile, e.getMessage());
+        }
+        spillWriter = null;
+        spillReader = null;
+        spillFile = null;
+        spilledUnread = 0;
+    }
+}
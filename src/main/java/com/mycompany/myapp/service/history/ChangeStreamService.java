@@ -0,0 +1,291 @@
+package com.mycompany.myapp.service.history;
+
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.repository.EntityHistoryRepository;
+import com.mycompany.myapp.service.EntityHistoryQueryService;
+import com.mycompany.myapp.service.criteria.EntityHistoryCriteria;
+import jakarta.annotation.PreDestroy;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Live feed of the committed changes, for clients following them as they happen.
+ * <p>
+ * This is a {@link ChangeEventSink} forwarding every change to the current subscribers, optionally only for one kind of
+ * entity. A subscriber resuming after a given change is first sent the changes recorded since in the
+ * {@link EntityHistory}, in order, while the live changes are held back; the live changes which were not part of the
+ * replay are sent once it is done. A replay sends at most {@link #MAX_REPLAYED_CHANGES} changes, then ends the
+ * subscription, so that the subscriber resumes from the last one it received.
+ * <p>
+ * Each subscription queues up to {@link #MAX_QUEUED_CHANGES} changes, sent to its subscriber from a thread of its own
+ * while the queue is not empty, so that a slow or unresponsive subscriber delays no other. A subscription whose queue
+ * is full is ended, so that its subscriber resumes from the last change it received. This sink spills its own backlog
+ * rather than dropping changes, so that no subscriber misses a change without its subscription being ended.
+ * <p>
+ * Changes come from the {@link ChangeEventBus} of this instance, which only sees the changes relayed by this instance:
+ * when several instances share the relay of the outbox, a subscriber only receives live the changes relayed by the
+ * instance it is connected to, and the others only when it resumes from the history.
+ */
+@Service
+public class ChangeStreamService implements ChangeEventSink {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeStreamService.class);
+
+    public static final String SINK_NAME = "change-stream";
+
+    static final int MAX_REPLAYED_CHANGES = 10_000;
+
+    static final int MAX_QUEUED_CHANGES = 10_000;
+
+    private static final int REPLAY_PAGE_SIZE = 500;
+
+    private final EntityHistoryRepository entityHistoryRepository;
+
+    private final EntityHistoryQueryService entityHistoryQueryService;
+
+    private final EntityHistoryReconstructor entityHistoryReconstructor;
+
+    private final Executor taskExecutor;
+
+    private final ExecutorService deliveryExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("change-stream-"));
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public ChangeStreamService(
+        EntityHistoryRepository entityHistoryRepository,
+        EntityHistoryQueryService entityHistoryQueryService,
+        EntityHistoryReconstructor entityHistoryReconstructor,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.entityHistoryRepository = entityHistoryRepository;
+        this.entityHistoryQueryService = entityHistoryQueryService;
+        this.entityHistoryReconstructor = entityHistoryReconstructor;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public String getName() {
+        return SINK_NAME;
+    }
+
+    @Override
+    public BackPressurePolicy getBackPressurePolicy() {
+        return BackPressurePolicy.SPILL;
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.forEach(Subscription::end);
+        deliveryExecutor.shutdownNow();
+    }
+
+    @Override
+    public void accept(ChangeEvent event) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Subscribe to the committed changes.
+     *
+     * @param entityName the simple class name of the entities to follow, or {@code null} to follow all of them.
+     * @param lastEventId the id of the last change the subscriber received, to resume after it, or {@code null}.
+     * @param listener called with each change, from a single thread at a time.
+     * @param onEnd called if the subscription is ended by this service, after a failed change, a full queue or a
+     * truncated replay.
+     * @return the subscription, to cancel once the subscriber is gone.
+     */
+    public Subscription subscribe(String entityName, Long lastEventId, Consumer<ChangeEvent> listener, Runnable onEnd) {
+        LOG.debug("Request to subscribe to changes of {}, after {}", entityName == null ? "all entities" : entityName, lastEventId);
+        Subscription subscription = new Subscription(entityName, listener, onEnd, lastEventId != null);
+        subscriptions.add(subscription);
+        if (lastEventId != null) {
+            taskExecutor.execute(() -> replay(subscription, lastEventId));
+        }
+        return subscription;
+    }
+
+    private void replay(Subscription subscription, Long lastEventId) {
+        EntityHistory last = entityHistoryRepository.findById(lastEventId).orElse(null);
+        if (last == null) {
+            LOG.debug("EntityHistory {} does not exist anymore, not replaying changes", lastEventId);
+            subscription.endReplay(false);
+            return;
+        }
+        EntityHistoryCriteria criteria = new EntityHistoryCriteria();
+        if (subscription.entityName != null) {
+            criteria.entityName().setEquals(subscription.entityName);
+        }
+        int replayed = 0;
+        List<EntityHistory> page;
+        do {
+            page = entityHistoryQueryService.findByCriteria(criteria, last.getCreationDate(), last.getId(), REPLAY_PAGE_SIZE);
+            for (EntityHistory entityHistory : page) {
+                if (replayed == MAX_REPLAYED_CHANGES || !subscription.replayed(toChangeEvent(entityHistory))) {
+                    subscription.endReplay(true);
+                    return;
+                }
+                replayed++;
+                last = entityHistory;
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE);
+        subscription.endReplay(false);
+    }
+
+    private ChangeEvent toChangeEvent(EntityHistory entityHistory) {
+        Map<String, Object> state = entityHistoryReconstructor.reconstructState(entityHistory).orElse(Map.of());
+        return new ChangeEvent(
+            entityHistory.getId(),
+            entityHistory.getEntityName(),
+            entityHistory.getEntityId(),
+            entityHistory.getActionType(),
+            entityHistory.getUserLogin(),
+            entityHistory.getCreationDate(),
+            state
+        );
+    }
+
+    /**
+     * A subscriber to the committed changes.
+     */
+    public final class Subscription {
+
+        private final String entityName;
+
+        private final Consumer<ChangeEvent> listener;
+
+        private final Runnable onEnd;
+
+        private final BlockingQueue<ChangeEvent> queue = new ArrayBlockingQueue<>(MAX_QUEUED_CHANGES);
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private final Set<Long> replayedIds = new HashSet<>();
+
+        private volatile boolean replaying;
+
+        private volatile boolean active = true;
+
+        private Subscription(String entityName, Consumer<ChangeEvent> listener, Runnable onEnd, boolean replaying) {
+            this.entityName = entityName;
+            this.listener = listener;
+            this.onEnd = onEnd;
+            this.replaying = replaying;
+        }
+
+        /**
+         * Stop receiving changes.
+         */
+        public void cancel() {
+            subscriptions.remove(this);
+            active = false;
+            queue.clear();
+        }
+
+        private void offer(ChangeEvent event) {
+            if (!active || (entityName != null && !entityName.equals(event.entityName()))) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                LOG.debug("Subscriber to changes of {} is too far behind, ending the subscription", entityName);
+                end();
+                return;
+            }
+            if (!replaying) {
+                scheduleDrain();
+            }
+        }
+
+        private boolean replayed(ChangeEvent event) {
+            if (!active) {
+                return false;
+            }
+            replayedIds.add(event.id());
+            return send(event);
+        }
+
+        private void endReplay(boolean truncated) {
+            if (!active) {
+                return;
+            }
+            if (truncated) {
+                end();
+                return;
+            }
+            queue.removeIf(event -> replayedIds.contains(event.id()));
+            replayedIds.clear();
+            replaying = false;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                deliveryExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                end();
+            }
+        }
+
+        /**
+         * Send the queued changes, from a single thread at a time, until the queue is empty.
+         */
+        private void drain() {
+            do {
+                ChangeEvent event;
+                while (active && (event = queue.poll()) != null) {
+                    if (!send(event)) {
+                        return;
+                    }
+                }
+                draining.set(false);
+                // A change queued after the last poll but before the flag was reset is drained by this thread
+            } while (active && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private boolean send(ChangeEvent event) {
+            try {
+                listener.accept(event);
+                return true;
+            } catch (RuntimeException e) {
+                LOG.debug(
+                    "Could not send {} of {} {} to a subscriber, ending the subscription: {}",
+                    event.action(),
+                    event.entityName(),
+                    event.entityId(),
+                    e.getMessage()
+                );
+                end();
+                return false;
+            }
+        }
+
+        private void end() {
+            if (!active) {
+                return;
+            }
+            cancel();
+            onEnd.run();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mycompany.myapp.service.history;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link EntityHistoryCodec} based on the JDK deflate implementation, optionally primed with a preset dictionary.
+ * <p>
+ * History content is mostly small JSON documents sharing the same field names, which a preset dictionary lets deflate
+ * reference from the first byte instead of having to learn them from each document.
+ */
+public class DeflateEntityHistoryCodec implements EntityHistoryCodec {
+
+    public static final String DEFLATE = "deflate";
+
+    public static final String DEFLATE_DICTIONARY_V1 = "deflate-dict-v1";
+
+    /**
+     * Fragments commonly found in history content, most frequent last as deflate favours the closest matches.
+     * Never change it: records encoded with it could not be decoded anymore, declare a new version instead.
+     */
+    private static final byte[] DICTIONARY_V1 = (
+        "true,false,null,\"description\":\"\",\"lastName\":\"\",\"firstName\":\"\"," +
+        "\"title\":\"\",\"name\":\"\",\"id\":{\"id\":"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final String name;
+
+    private final byte[] dictionary;
+
+    private DeflateEntityHistoryCodec(String name, byte[] dictionary) {
+        this.name = name;
+        this.dictionary = dictionary;
+    }
+
+    public static DeflateEntityHistoryCodec deflate() {
+        return new DeflateEntityHistoryCodec(DEFLATE, null);
+    }
+
+    public static DeflateEntityHistoryCodec deflateWithDictionaryV1() {
+        return new DeflateEntityHistoryCodec(DEFLATE_DICTIONARY_V1, DICTIONARY_V1);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public byte[] encode(byte[] content) {
+        Deflater deflater = new Deflater();
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public byte[] decode(byte[] content) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(content);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && inflater.needsDictionary() && dictionary != null) {
+                    inflater.setDictionary(dictionary);
+                } else if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated or invalid " + name + " content");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + " content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.mycompany.myapp.service.history;
+
+/**
+ * Codec used to compress the content of {@link com.mycompany.myapp.domain.EntityHistory} records.
+ * <p>
+ * The codec name is stored alongside each record, so an implementation must keep decoding the content it once encoded
+ * for as long as such records exist. Additional codecs are picked up when declared as Spring beans.
+ */
+public interface EntityHistoryCodec {
+    /**
+     * @return the name identifying this codec in {@code content_content_type}.
+     */
+    String getName();
+
+    byte[] encode(byte[] content);
+
+    byte[] decode(byte[] content);
+}
@@ -0,0 +1,110 @@
+package com.mycompany.myapp.service.history;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.EntityHistory;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+/**
+ * Compresses and decompresses the content of {@link EntityHistory} records.
+ * <p>
+ * The codec is recorded as a {@code codec} parameter of the content type, for example
+ * {@code application/json;codec=deflate-dict-v1}, so that records written without compression, or with another codec,
+ * remain readable.
+ */
+@Service
+public class EntityHistoryCompressor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityHistoryCompressor.class);
+
+    public static final String NO_CODEC = "none";
+
+    private static final String CODEC_PARAMETER = ";codec=";
+
+    private final Map<String, EntityHistoryCodec> codecs = new HashMap<>();
+
+    private final EntityHistoryCodec codec;
+
+    private final int minSize;
+
+    public EntityHistoryCompressor(ApplicationProperties applicationProperties, ObjectProvider<EntityHistoryCodec> additionalCodecs) {
+        register(DeflateEntityHistoryCodec.deflate());
+        register(DeflateEntityHistoryCodec.deflateWithDictionaryV1());
+        additionalCodecs.orderedStream().forEach(this::register);
+
+        ApplicationProperties.EntityHistory properties = applicationProperties.getEntityHistory();
+        this.minSize = properties.getCompressionMinSize();
+        if (NO_CODEC.equals(properties.getCodec())) {
+            this.codec = null;
+        } else if (codecs.containsKey(properties.getCodec())) {
+            this.codec = codecs.get(properties.getCodec());
+        } else {
+            throw new IllegalArgumentException("Unknown entity history codec: " + properties.getCodec());
+        }
+    }
+
+    private void register(EntityHistoryCodec codec) {
+        codecs.put(codec.getName(), codec);
+    }
+
+    /**
+     * Compress the content of an {@link EntityHistory} in place, when it is large enough and compression pays off.
+     *
+     * @param entityHistory the record to compress.
+     */
+    public void compress(EntityHistory entityHistory) {
+        byte[] content = entityHistory.getContent();
+        if (codec == null || content == null || content.length < minSize || getCodecName(entityHistory) != null) {
+            return;
+        }
+        byte[] encoded = codec.encode(content);
+        if (encoded.length < content.length) {
+            entityHistory.setContent(encoded);
+            entityHistory.setContentContentType(entityHistory.getContentContentType() + CODEC_PARAMETER + codec.getName());
+        }
+    }
+
+    /**
+     * Get a copy of an {@link EntityHistory} with its content decompressed.
+     * <p>
+     * A copy is returned so that a managed entity is never modified.
+     *
+     * @param entityHistory the record to decompress.
+     * @return the same record if it is not compressed, or a decompressed copy otherwise.
+     */
+    public EntityHistory decompress(EntityHistory entityHistory) {
+        String codecName = getCodecName(entityHistory);
+        if (codecName == null || entityHistory.getContent() == null) {
+            return entityHistory;
+        }
+        EntityHistoryCodec recordCodec = codecs.get(codecName);
+        if (recordCodec == null) {
+            LOG.warn("Unknown codec {} for EntityHistory {}, returning it compressed", codecName, entityHistory.getId());
+            return entityHistory;
+        }
+        String contentType = entityHistory.getContentContentType();
+        return new EntityHistory()
+            .id(entityHistory.getId())
+            .userLogin(entityHistory.getUserLogin())
+            .entityName(entityHistory.getEntityName())
+            .entityId(entityHistory.getEntityId())
+            .actionType(entityHistory.getActionType())
+            .content(recordCodec.decode(entityHistory.getContent()))
+            .contentContentType(contentType.substring(0, contentType.indexOf(CODEC_PARAMETER)))
+            .creationDate(entityHistory.getCreationDate())
+            .version(entityHistory.getVersion());
+    }
+
+    private String getCodecName(EntityHistory entityHistory) {
+        String contentType = entityHistory.getContentContentType();
+        if (contentType == null) {
+            return null;
+        }
+        int index = contentType.indexOf(CODEC_PARAMETER);
+        return index < 0 ? null : contentType.substring(index + CODEC_PARAMETER.length());
+    }
+}
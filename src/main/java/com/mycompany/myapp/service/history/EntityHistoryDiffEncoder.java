@@ -0,0 +1,85 @@
+package com.mycompany.myapp.service.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.domain.enumeration.Action;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Encodes the content of {@link EntityHistory} records.
+ * <p>
+ * Updates are stored as a JSON Merge Patch (RFC 7396) holding only the changed fields. A full JSON snapshot is stored on
+ * creation, deletion, and every {@code application.entity-history.checkpoint-interval} versions, so that a state can be
+ * rebuilt by applying the patches written since the latest snapshot. The encoding is recorded in
+ * {@link EntityHistory#getContentContentType()}.
+ * <p>
+ * Versions since the last snapshot are counted in memory for a bounded number of entities: an entity which is not
+ * tracked anymore (or after a restart) simply gets a new snapshot.
+ */
+@Service
+public class EntityHistoryDiffEncoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityHistoryDiffEncoder.class);
+
+    public static final String SNAPSHOT_CONTENT_TYPE = "application/json";
+
+    public static final String MERGE_PATCH_CONTENT_TYPE = "application/merge-patch+json";
+
+    private static final int MAX_TRACKED_ENTITIES = 10000;
+
+    private final ObjectMapper objectMapper;
+
+    private final int checkpointInterval;
+
+    private final Map<String, Integer> versionsSinceSnapshot = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_TRACKED_ENTITIES;
+        }
+    };
+
+    public EntityHistoryDiffEncoder(ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.objectMapper = objectMapper;
+        this.checkpointInterval = applicationProperties.getEntityHistory().getCheckpointInterval();
+    }
+
+    /**
+     * Set the content of an {@link EntityHistory}.
+     *
+     * @param entityHistory the record to fill, with its entity name, id and action type set.
+     * @param state all the fields of the entity after the change.
+     * @param changes the fields changed by an update, or {@code null} if they are unknown.
+     */
+    public void encode(EntityHistory entityHistory, Map<String, Object> state, Map<String, Object> changes) {
+        boolean snapshot = isSnapshotDue(entityHistory, changes != null);
+        try {
+            entityHistory.setContent(objectMapper.writeValueAsBytes(snapshot ? state : changes));
+            entityHistory.setContentContentType(snapshot ? SNAPSHOT_CONTENT_TYPE : MERGE_PATCH_CONTENT_TYPE);
+        } catch (JsonProcessingException e) {
+            LOG.warn("Could not serialize {} {}: {}", entityHistory.getEntityName(), entityHistory.getEntityId(), e.getMessage());
+        }
+    }
+
+    private boolean isSnapshotDue(EntityHistory entityHistory, boolean changesKnown) {
+        String key = entityHistory.getEntityName() + '#' + entityHistory.getEntityId();
+        synchronized (versionsSinceSnapshot) {
+            if (entityHistory.getActionType() == Action.DELETE) {
+                versionsSinceSnapshot.remove(key);
+                return true;
+            }
+            Integer versions = versionsSinceSnapshot.get(key);
+            if (entityHistory.getActionType() == Action.CREATE || !changesKnown || versions == null || versions + 1 >= checkpointInterval) {
+                versionsSinceSnapshot.put(key, 0);
+                return true;
+            }
+            versionsSinceSnapshot.put(key, versions + 1);
+            return false;
+        }
+    }
+}
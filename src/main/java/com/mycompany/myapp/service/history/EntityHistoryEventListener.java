@@ -0,0 +1,169 @@
+package com.mycompany.myapp.service.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.EntityA;
+import com.mycompany.myapp.domain.EntityB;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.domain.EntityHistoryOutbox;
+import com.mycompany.myapp.domain.enumeration.Action;
+import com.mycompany.myapp.security.SecurityUtils;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.Session;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hibernate listener recording an {@link EntityHistoryOutbox} for every change to an audited entity.
+ * <p>
+ * Changes are collected while the transaction flushes, and written in a single batch right before it commits, in the
+ * same transaction: they are durable as soon as the change is, and rolled back with it. The {@link EntityHistoryOutboxRelay}
+ * then turns them into {@link EntityHistory} records, off the request path.
+ */
+@Service
+public class EntityHistoryEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener, Integrator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityHistoryEventListener.class);
+
+    private static final Set<Class<?>> AUDITED_ENTITIES = Set.of(EntityA.class, EntityB.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<EventSource, List<EntityHistoryOutbox>> pendingChanges = new ConcurrentHashMap<>();
+
+    public EntityHistoryEventListener(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getSession(), Action.CREATE, event.getPersister(), event.getId(), event.getState(), null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getSession(), Action.UPDATE, event.getPersister(), event.getId(), event.getState(), changedFields(event));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getSession(), Action.DELETE, event.getPersister(), event.getId(), event.getDeletedState(), null);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry eventListenerRegistry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.POST_INSERT, this);
+        eventListenerRegistry.appendListeners(EventType.POST_UPDATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // Nothing to release, listeners go away with the session factory.
+    }
+
+    private void record(EventSource session, Action action, EntityPersister persister, Object id, Object[] state, String changedFields) {
+        if (!AUDITED_ENTITIES.contains(persister.getMappedClass())) {
+            return;
+        }
+        EntityHistoryOutbox change = new EntityHistoryOutbox()
+            .userLogin(SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM))
+            .entityName(persister.getMappedClass().getSimpleName())
+            .entityId(((Number) id).longValue())
+            .actionType(action)
+            .changedFields(changedFields)
+            .creationDate(ZonedDateTime.now());
+        try {
+            change.setState(objectMapper.writeValueAsBytes(snapshot(persister, id, state)));
+        } catch (JsonProcessingException e) {
+            LOG.warn("Could not serialize {} {}: {}", change.getEntityName(), change.getEntityId(), e.getMessage());
+        }
+        pendingChanges(session).add(change);
+    }
+
+    /**
+     * The changes of a session waiting for its transaction to commit, registering their write on the first change.
+     */
+    private List<EntityHistoryOutbox> pendingChanges(EventSource session) {
+        return pendingChanges.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess(this::writePendingChanges);
+            session.getActionQueue().registerProcess((success, completedSession) -> pendingChanges.remove(session));
+            return new ArrayList<>();
+        });
+    }
+
+    private void writePendingChanges(SessionImplementor session) {
+        List<EntityHistoryOutbox> changes = pendingChanges.remove(session);
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        try (
+            Session outboxSession = session
+                .sessionWithOptions()
+                .connection()
+                .autoClose(false)
+                .connectionHandlingMode(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION)
+                .openSession()
+        ) {
+            changes.forEach(outboxSession::persist);
+            outboxSession.flush();
+        }
+    }
+
+    private Map<String, Object> snapshot(EntityPersister persister, Object id, Object[] state) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(persister.getIdentifierPropertyName(), id);
+        String[] propertyNames = persister.getPropertyNames();
+        for (int i = 0; i < propertyNames.length; i++) {
+            fields.put(propertyNames[i], state[i]);
+        }
+        return fields;
+    }
+
+    /**
+     * The names of the fields changed by an update, or {@code null} if Hibernate could not tell which fields changed.
+     */
+    private String changedFields(PostUpdateEvent event) {
+        int[] dirtyProperties = event.getDirtyProperties();
+        if (dirtyProperties == null || event.getOldState() == null) {
+            return null;
+        }
+        String[] propertyNames = event.getPersister().getPropertyNames();
+        List<String> fields = new ArrayList<>(dirtyProperties.length);
+        for (int dirtyProperty : dirtyProperties) {
+            fields.add(propertyNames[dirtyProperty]);
+        }
+        return String.join(",", fields);
+    }
+}
@@ -0,0 +1,167 @@
+package com.mycompany.myapp.service.history;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.domain.EntityHistoryOutbox;
+import com.mycompany.myapp.repository.EntityHistoryOutboxRepository;
+import com.mycompany.myapp.repository.EntityHistoryRepository;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Relays the {@link EntityHistoryOutbox} into {@link EntityHistory} records.
+ * <p>
+ * Each batch of up to {@code application.entity-history.relay-batch-size} outbox records is encoded, compressed, written
+ * as history and removed from the outbox in a single transaction, so that after a crash a batch is either entirely
+ * relayed or entirely replayed. Outbox records are locked while being relayed, skipping the ones locked by the relay of
+ * another instance. Once a batch is committed, its changes are published to the {@link ChangeEventBus}: sinks may
+ * receive a change twice if the relay of its batch is retried, and can recognize it by its id.
+ * <p>
+ * The relay runs every {@code application.entity-history.relay-interval-ms} milliseconds, once scheduling is enabled
+ * by {@link com.mycompany.myapp.config.AsyncConfiguration}.
+ */
+@Service
+public class EntityHistoryOutboxRelay {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityHistoryOutboxRelay.class);
+
+    private static final TypeReference<LinkedHashMap<String, Object>> STATE_TYPE = new TypeReference<>() {};
+
+    private final EntityHistoryOutboxRepository entityHistoryOutboxRepository;
+
+    private final EntityHistoryRepository entityHistoryRepository;
+
+    private final EntityHistoryDiffEncoder entityHistoryDiffEncoder;
+
+    private final EntityHistoryCompressor entityHistoryCompressor;
+
+    private final ObjectMapper objectMapper;
+
+    private final ChangeEventBus changeEventBus;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    public EntityHistoryOutboxRelay(
+        EntityHistoryOutboxRepository entityHistoryOutboxRepository,
+        EntityHistoryRepository entityHistoryRepository,
+        EntityHistoryDiffEncoder entityHistoryDiffEncoder,
+        EntityHistoryCompressor entityHistoryCompressor,
+        ObjectMapper objectMapper,
+        ChangeEventBus changeEventBus,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityHistoryOutboxRepository = entityHistoryOutboxRepository;
+        this.entityHistoryRepository = entityHistoryRepository;
+        this.entityHistoryDiffEncoder = entityHistoryDiffEncoder;
+        this.entityHistoryCompressor = entityHistoryCompressor;
+        this.objectMapper = objectMapper;
+        this.changeEventBus = changeEventBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, applicationProperties.getEntityHistory().getRelayBatchSize());
+    }
+
+    /**
+     * Relay the outbox, until it is empty.
+     */
+    @Scheduled(fixedDelayString = "${application.entity-history.relay-interval-ms:500}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to relay the entity history outbox", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<ChangeEvent> events = transactionTemplate.execute(status -> {
+            List<EntityHistoryOutbox> batch = entityHistoryOutboxRepository.findOldestSkipLocked(batchSize);
+            List<ChangeEvent> relayed = new ArrayList<>(batch.size());
+            for (EntityHistoryOutbox change : batch) {
+                Map<String, Object> state = readState(change);
+                EntityHistory entityHistory = entityHistoryRepository.save(toEntityHistory(change, state));
+                relayed.add(toChangeEvent(entityHistory, state));
+            }
+            entityHistoryOutboxRepository.deleteAllInBatch(batch);
+            LOG.debug("Relayed {} entity history records", batch.size());
+            return relayed;
+        });
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        changeEventBus.publish(events);
+        return events.size();
+    }
+
+    private EntityHistory toEntityHistory(EntityHistoryOutbox change, Map<String, Object> state) {
+        EntityHistory entityHistory = new EntityHistory()
+            .userLogin(change.getUserLogin())
+            .entityName(change.getEntityName())
+            .entityId(change.getEntityId())
+            .actionType(change.getActionType())
+            .creationDate(change.getCreationDate());
+        if (state != null) {
+            entityHistoryDiffEncoder.encode(entityHistory, state, changes(state, change.getChangedFields()));
+            entityHistoryCompressor.compress(entityHistory);
+        }
+        return entityHistory;
+    }
+
+    private static ChangeEvent toChangeEvent(EntityHistory entityHistory, Map<String, Object> state) {
+        return new ChangeEvent(
+            entityHistory.getId(),
+            entityHistory.getEntityName(),
+            entityHistory.getEntityId(),
+            entityHistory.getActionType(),
+            entityHistory.getUserLogin(),
+            entityHistory.getCreationDate(),
+            state == null ? Map.of() : Collections.unmodifiableMap(state)
+        );
+    }
+
+    /**
+     * The state of an outbox record, or {@code null} if it could not be read, so that it is relayed without content
+     * rather than blocking the outbox.
+     */
+    private Map<String, Object> readState(EntityHistoryOutbox change) {
+        if (change.getState() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(change.getState(), STATE_TYPE);
+        } catch (IOException e) {
+            LOG.error("Invalid state in EntityHistoryOutbox {}: {}", change.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, Object> changes(Map<String, Object> state, String changedFields) {
+        if (changedFields == null) {
+            return null;
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (!changedFields.isEmpty()) {
+            for (String field : changedFields.split(",")) {
+                changes.put(field, state.get(field));
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,204 @@
+package com.mycompany.myapp.service.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.repository.EntityHistoryPartitionRepository;
+import com.mycompany.myapp.repository.EntityHistoryRepository;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the monthly partitions of the {@link EntityHistory} table, and applies its retention.
+ * <p>
+ * Partitions are created {@code application.entity-history.partitions-ahead} months in advance, and the ones holding only
+ * records older than {@code application.entity-history.retention-months} full months are dropped, which is much cheaper
+ * than deleting their rows. On databases where the table is not partitioned, old records are deleted instead.
+ * <p>
+ * Before old records are removed, the first record kept of each entity is rewritten as a snapshot of the same state if it
+ * was a merge patch, so that the states of the records kept can still be rebuilt without the snapshots removed.
+ * <p>
+ * Creation dates are stored in UTC, so months are UTC months.
+ */
+@Service
+public class EntityHistoryPartitionMaintainer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityHistoryPartitionMaintainer.class);
+
+    private static final int REBASE_BATCH_SIZE = 100;
+
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'entity_history_p'yyyy_MM");
+
+    private final EntityHistoryPartitionRepository entityHistoryPartitionRepository;
+
+    private final EntityHistoryRepository entityHistoryRepository;
+
+    private final EntityHistoryReconstructor entityHistoryReconstructor;
+
+    private final EntityHistoryCompressor entityHistoryCompressor;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    public EntityHistoryPartitionMaintainer(
+        EntityHistoryPartitionRepository entityHistoryPartitionRepository,
+        EntityHistoryRepository entityHistoryRepository,
+        EntityHistoryReconstructor entityHistoryReconstructor,
+        EntityHistoryCompressor entityHistoryCompressor,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityHistoryPartitionRepository = entityHistoryPartitionRepository;
+        this.entityHistoryRepository = entityHistoryRepository;
+        this.entityHistoryReconstructor = entityHistoryReconstructor;
+        this.entityHistoryCompressor = entityHistoryCompressor;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Make sure the partition of the current month exists before the application serves requests.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create the upcoming partitions and apply the retention.
+     * <p>
+     * This is scheduled to get fired every day, at 02:00 (am).
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void maintainPartitions() {
+        ApplicationProperties.EntityHistory properties = applicationProperties.getEntityHistory();
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        LocalDateTime retentionStart = properties.getRetentionMonths() > 0
+            ? currentMonth.minusMonths(properties.getRetentionMonths()).atDay(1).atStartOfDay()
+            : null;
+        try {
+            if (entityHistoryPartitionRepository.isPartitioned()) {
+                createPartitions(currentMonth.plusMonths(properties.getPartitionsAhead()));
+                if (retentionStart != null) {
+                    rebaseHistory(retentionStart.atZone(ZoneOffset.UTC));
+                    dropPartitions(retentionStart);
+                }
+            } else if (retentionStart != null) {
+                rebaseHistory(retentionStart.atZone(ZoneOffset.UTC));
+                int deleted = entityHistoryRepository.deleteAllByCreationDateBefore(retentionStart.atZone(ZoneOffset.UTC));
+                LOG.debug("Deleted {} entity history records created before {}", deleted, retentionStart);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Failed to maintain the entity history partitions", e);
+        }
+    }
+
+    private void createPartitions(YearMonth lastMonth) {
+        LocalDateTime from = entityHistoryPartitionRepository
+            .findAllPartitions()
+            .stream()
+            .map(EntityHistoryPartitionRepository.Partition::upperBound)
+            .filter(Objects::nonNull)
+            .max(LocalDateTime::compareTo)
+            .orElse(YearMonth.now(ZoneOffset.UTC).atDay(1).atStartOfDay());
+        LocalDateTime end = lastMonth.plusMonths(1).atDay(1).atStartOfDay();
+        while (from.isBefore(end)) {
+            LocalDateTime to = YearMonth.from(from).plusMonths(1).atDay(1).atStartOfDay();
+            LOG.info("Creating entity history partition for {} to {}", from, to);
+            entityHistoryPartitionRepository.createPartition(PARTITION_NAME_FORMAT.format(from), from, to);
+            from = to;
+        }
+    }
+
+    private void dropPartitions(LocalDateTime retentionStart) {
+        List<EntityHistoryPartitionRepository.Partition> expired = entityHistoryPartitionRepository
+            .findAllPartitions()
+            .stream()
+            .filter(partition -> partition.upperBound() != null && !partition.upperBound().isAfter(retentionStart))
+            .toList();
+        for (EntityHistoryPartitionRepository.Partition partition : expired) {
+            LOG.info("Dropping entity history partition {}, holding records created before {}", partition.name(), partition.upperBound());
+            entityHistoryPartitionRepository.dropPartition(partition.name());
+        }
+        int deleted = entityHistoryPartitionRepository.deleteFromDefaultPartition(retentionStart);
+        LOG.debug("Deleted {} entity history records created before {} from the default partition", deleted, retentionStart);
+    }
+
+    /**
+     * Rewrite as snapshots the first merge patches of the entities created at or after the start of the retention.
+     * <p>
+     * A record rewritten keeps the same state, so the reconstructions already cached stay valid. A record whose state
+     * cannot be rebuilt is left as is, as its history was already broken. The records are paged by id, so that the ones
+     * left as is are not read again, and the method only returns once all of them were read: the retention is not applied
+     * when it throws.
+     */
+    private void rebaseHistory(ZonedDateTime retentionStart) {
+        long afterId = Long.MIN_VALUE;
+        int total = 0;
+        while (true) {
+            long batchAfterId = afterId;
+            List<EntityHistory> patches = Objects.requireNonNull(
+                transactionTemplate.execute(status -> rebaseBatch(retentionStart, batchAfterId))
+            );
+            total += (int) patches.stream().filter(patch -> !isMergePatch(patch)).count();
+            if (patches.size() < REBASE_BATCH_SIZE) {
+                break;
+            }
+            afterId = patches.get(patches.size() - 1).getId();
+        }
+        LOG.debug("Rewrote {} entity history merge patches as snapshots before applying the retention", total);
+    }
+
+    /**
+     * @return the records read, rewritten as snapshots or left as merge patches.
+     */
+    private List<EntityHistory> rebaseBatch(ZonedDateTime retentionStart, long afterId) {
+        List<EntityHistory> patches = entityHistoryRepository.findFirstByContentContentTypeSince(
+            EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE,
+            retentionStart,
+            afterId,
+            Limit.of(REBASE_BATCH_SIZE)
+        );
+        for (EntityHistory patch : patches) {
+            Map<String, Object> state = entityHistoryReconstructor.reconstructState(patch).orElse(null);
+            if (state == null) {
+                LOG.warn("Could not rebuild EntityHistory {}, its history will not be readable after the retention", patch.getId());
+                continue;
+            }
+            try {
+                patch.setContent(objectMapper.writeValueAsBytes(state));
+            } catch (JsonProcessingException e) {
+                LOG.warn("Could not serialize EntityHistory {}: {}", patch.getId(), e.getMessage());
+                continue;
+            }
+            patch.setContentContentType(EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE);
+            entityHistoryCompressor.compress(patch);
+        }
+        return patches;
+    }
+
+    private static boolean isMergePatch(EntityHistory entityHistory) {
+        return entityHistory.getContentContentType().startsWith(EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE);
+    }
+}
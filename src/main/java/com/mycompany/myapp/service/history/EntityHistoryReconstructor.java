@@ -0,0 +1,241 @@
+package com.mycompany.myapp.service.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.domain.enumeration.Action;
+import com.mycompany.myapp.repository.EntityHistoryRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Rebuilds the state of an audited entity at a given instant from its {@link EntityHistory}.
+ * <p>
+ * The state is read from the latest snapshot written before that instant, then the merge patches written since are
+ * applied in order, so that a reconstruction reads at most {@code application.entity-history.checkpoint-interval}
+ * records. Snapshots and reconstructed versions are kept in a bounded LRU cache keyed by the id of their
+ * {@link EntityHistory}. Changing a history record changes the versions rebuilt from it, so whoever changes one must
+ * {@link #evict(String, Long) evict} its entity.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EntityHistoryReconstructor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityHistoryReconstructor.class);
+
+    private static final TypeReference<Map<String, Object>> STATE_TYPE = new TypeReference<>() {};
+
+    private final EntityHistoryRepository entityHistoryRepository;
+
+    private final EntityHistoryCompressor entityHistoryCompressor;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, CachedVersion> versions;
+
+    public EntityHistoryReconstructor(
+        EntityHistoryRepository entityHistoryRepository,
+        EntityHistoryCompressor entityHistoryCompressor,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityHistoryRepository = entityHistoryRepository;
+        this.entityHistoryCompressor = entityHistoryCompressor;
+        this.objectMapper = objectMapper;
+        int cacheSize = applicationProperties.getEntityHistory().getReconstructionCacheSize();
+        this.versions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedVersion> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Get an entity as it was at a given instant.
+     *
+     * @param entityClass the class of the audited entity.
+     * @param id the id of the entity.
+     * @param asOf the instant to rebuild the entity at.
+     * @return a detached entity, or empty if it did not exist at that instant or has no usable history.
+     */
+    public <T> Optional<T> reconstruct(Class<T> entityClass, Long id, ZonedDateTime asOf) {
+        LOG.debug("Request to reconstruct {} {} as of {}", entityClass.getSimpleName(), id, asOf);
+        String entityName = entityClass.getSimpleName();
+        EntityHistory latest = entityHistoryRepository
+            .findFirstByEntityNameAndEntityIdAndCreationDateLessThanEqualOrderByCreationDateDescIdDesc(entityName, id, asOf)
+            .orElse(null);
+        if (latest == null || latest.getActionType() == Action.DELETE) {
+            return Optional.empty();
+        }
+        ObjectNode state = getVersion(latest);
+        if (state == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.treeToValue(state, entityClass));
+        } catch (JsonProcessingException e) {
+            LOG.warn("Could not rebuild {} {} from EntityHistory {}: {}", entityName, id, latest.getId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Get all the fields of an audited entity as recorded by one of its {@link EntityHistory}.
+     *
+     * @param entityHistory the record of the change.
+     * @return the fields after the change, or before a deletion, or empty if the history is not usable.
+     */
+    public Optional<Map<String, Object>> reconstructState(EntityHistory entityHistory) {
+        ObjectNode state = getVersion(entityHistory);
+        if (state == null) {
+            return Optional.empty();
+        }
+        return Optional.of(objectMapper.convertValue(state, STATE_TYPE));
+    }
+
+    /**
+     * Forget the cached versions of an entity once the current transaction completes, or right away outside of one.
+     *
+     * @param entityName the simple class name of the entity.
+     * @param id the id of the entity.
+     */
+    public void evict(String entityName, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictVersions(entityName, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictVersions(entityName, id);
+                }
+            }
+        );
+    }
+
+    private ObjectNode getVersion(EntityHistory version) {
+        ObjectNode state = getCachedVersion(version.getId());
+        if (state == null) {
+            state = replay(version.getEntityName(), version.getEntityId(), version);
+            if (state != null) {
+                cacheVersion(version, state);
+            }
+        }
+        return state;
+    }
+
+    private ObjectNode replay(String entityName, Long id, EntityHistory latest) {
+        List<EntityHistory> snapshots = entityHistoryRepository.findLatestByContentContentType(
+            entityName,
+            id,
+            EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE,
+            latest.getCreationDate(),
+            Limit.of(1)
+        );
+        if (snapshots.isEmpty()) {
+            LOG.warn("No snapshot of {} {} before EntityHistory {}", entityName, id, latest.getId());
+            return null;
+        }
+        EntityHistory snapshot = snapshots.get(0);
+        ObjectNode state = getCachedVersion(snapshot.getId());
+        if (state == null) {
+            state = (ObjectNode) readContent(snapshot);
+            cacheVersion(snapshot, state);
+        }
+        if (snapshot.getId().equals(latest.getId())) {
+            return state;
+        }
+        state = state.deepCopy();
+        List<EntityHistory> patches =
+            entityHistoryRepository.findAllByEntityNameAndEntityIdAndCreationDateBetweenOrderByCreationDateAscIdAsc(
+                entityName,
+                id,
+                snapshot.getCreationDate(),
+                latest.getCreationDate()
+            );
+        for (EntityHistory patch : patches) {
+            if (isAfter(patch, snapshot) && !isAfter(patch, latest)) {
+                mergePatch(state, readContent(patch));
+            }
+        }
+        return state;
+    }
+
+    private JsonNode readContent(EntityHistory entityHistory) {
+        try {
+            return objectMapper.readTree(entityHistoryCompressor.decompress(entityHistory).getContent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ObjectNode getCachedVersion(Long version) {
+        synchronized (versions) {
+            CachedVersion cached = versions.get(version);
+            return cached != null ? cached.state() : null;
+        }
+    }
+
+    private void cacheVersion(EntityHistory version, ObjectNode state) {
+        synchronized (versions) {
+            versions.put(version.getId(), new CachedVersion(version.getEntityName(), version.getEntityId(), state));
+        }
+    }
+
+    private void evictVersions(String entityName, Long id) {
+        synchronized (versions) {
+            versions.values().removeIf(cached -> Objects.equals(cached.entityName(), entityName) && Objects.equals(cached.entityId(), id));
+        }
+    }
+
+    /**
+     * Whether a record comes after another one, in the (creation date, id) order in which history is replayed.
+     */
+    private static boolean isAfter(EntityHistory entityHistory, EntityHistory other) {
+        int byDate = entityHistory.getCreationDate().toInstant().compareTo(other.getCreationDate().toInstant());
+        return byDate > 0 || (byDate == 0 && entityHistory.getId() > other.getId());
+    }
+
+    /**
+     * Apply a JSON Merge Patch (RFC 7396) to an object, in place.
+     */
+    private static void mergePatch(ObjectNode target, JsonNode patch) {
+        patch
+            .fields()
+            .forEachRemaining(field -> {
+                JsonNode value = field.getValue();
+                JsonNode current = target.get(field.getKey());
+                if (value.isNull()) {
+                    target.remove(field.getKey());
+                } else if (value.isObject() && current != null && current.isObject()) {
+                    mergePatch((ObjectNode) current, value);
+                } else if (value.isObject()) {
+                    ObjectNode child = target.putObject(field.getKey());
+                    mergePatch(child, value);
+                } else {
+                    target.set(field.getKey(), value);
+                }
+            });
+    }
+
+    private record CachedVersion(String entityName, Long entityId, ObjectNode state) {}
+}
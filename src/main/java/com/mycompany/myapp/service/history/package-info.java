@@ -0,0 +1,5 @@
+/**
+ * Automatic capture of entity changes into {@link com.mycompany.myapp.domain.EntityHistory}, and their delivery to
+ * {@link com.mycompany.myapp.service.history.ChangeEventSink}s.
+ */
+package com.mycompany.myapp.service.history;
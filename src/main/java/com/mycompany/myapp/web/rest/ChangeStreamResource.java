@@ -0,0 +1,75 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.history.ChangeEvent;
+import com.mycompany.myapp.service.history.ChangeStreamService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming the changes to the audited entities as Server-Sent Events.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeStreamResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeStreamResource.class);
+
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final ChangeStreamService changeStreamService;
+
+    private final long timeoutMs;
+
+    public ChangeStreamResource(ChangeStreamService changeStreamService, ApplicationProperties applicationProperties) {
+        this.changeStreamService = changeStreamService;
+        this.timeoutMs = applicationProperties.getEntityHistory().getChangeStreamTimeoutMs();
+    }
+
+    /**
+     * {@code GET  /changes/stream} : stream the committed changes.
+     * <p>
+     * Each change is sent as an event named after its action, with the id of its entityHistory as event id and the entity
+     * after the change, or before a deletion, in its data. A client reconnecting with the {@code Last-Event-ID} header is
+     * first sent the changes it missed. The stream is ended when the client falls too far behind, so that it reconnects.
+     * Live changes are only the ones relayed by this instance, see {@link ChangeStreamService}. The stream is also ended
+     * after {@code application.entity-history.change-stream-timeout-ms}, and resumed by the client as above.
+     *
+     * @param entityName the simple class name of the entities to follow, all of them if not set.
+     * @param lastEventId the id of the last change received by the client, if any.
+     * @return the event stream.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+        @RequestParam(name = "entityName", required = false) String entityName,
+        @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) Long lastEventId
+    ) {
+        LOG.debug("REST request to stream changes of {}, after {}", entityName, lastEventId);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        ChangeStreamService.Subscription subscription = changeStreamService.subscribe(
+            entityName,
+            lastEventId,
+            event -> send(emitter, event),
+            emitter::complete
+        );
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, ChangeEvent event) {
+        try {
+            emitter.send(
+                SseEmitter.event().id(String.valueOf(event.id())).name(event.action().name()).data(event, MediaType.APPLICATION_JSON)
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
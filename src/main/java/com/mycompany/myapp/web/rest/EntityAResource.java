@@ -1,20 +1,42 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import com.mycompany.myapp.domain.EntityA;
 import com.mycompany.myapp.repository.EntityARepository;
+import com.mycompany.myapp.service.BulkService;
+import com.mycompany.myapp.service.EntityAQueryService;
+import com.mycompany.myapp.service.InvalidBulkRowException;
+import com.mycompany.myapp.service.criteria.EntityACriteria;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
+import com.mycompany.myapp.service.history.EntityHistoryReconstructor;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.SliceUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -34,8 +56,26 @@ public class EntityAResource {
 
     private final EntityARepository entityARepository;
 
-    public EntityAResource(EntityARepository entityARepository) {
+    private final EntityAQueryService entityAQueryService;
+
+    private final EntityHistoryReconstructor entityHistoryReconstructor;
+
+    private final BulkService bulkService;
+
+    private final ObjectMapper objectMapper;
+
+    public EntityAResource(
+        EntityARepository entityARepository,
+        EntityAQueryService entityAQueryService,
+        EntityHistoryReconstructor entityHistoryReconstructor,
+        BulkService bulkService,
+        ObjectMapper objectMapper
+    ) {
         this.entityARepository = entityARepository;
+        this.entityAQueryService = entityAQueryService;
+        this.entityHistoryReconstructor = entityHistoryReconstructor;
+        this.bulkService = bulkService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -53,6 +93,7 @@ public class EntityAResource {
         }
         entityA = entityARepository.save(entityA);
         return ResponseEntity.created(new URI("/api/entity-as/" + entityA.getId()))
+            .eTag(ETagUtil.eTag(entityA.getVersion()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, entityA.getId().toString()))
             .body(entityA);
     }
@@ -61,15 +102,21 @@ public class EntityAResource {
      * {@code PUT  /entity-as/:id} : Updates an existing entityA.
      *
      * @param id the id of the entityA to save.
-     * @param entityA the entityA to update.
+     * @param ifMatch the ETag of the entityA when it was read, if it must not have been modified since.
+     * @param entityA the entityA to update, with the version it was read in if it must not have been modified since.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated entityA,
      * or with status {@code 400 (Bad Request)} if the entityA is not valid,
+     * or with status {@code 409 (Conflict)} if the entityA was modified since the version of the body,
+     * or with status {@code 412 (Precondition Failed)} if the entityA was modified since the {@code If-Match} ETag,
      * or with status {@code 500 (Internal Server Error)} if the entityA couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<EntityA> updateEntityA(@PathVariable(value = "id", required = false) final Long id, @RequestBody EntityA entityA)
-        throws URISyntaxException {
+    public ResponseEntity<EntityA> updateEntityA(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody EntityA entityA
+    ) throws URISyntaxException {
         LOG.debug("REST request to update EntityA : {}, {}", id, entityA);
         if (entityA.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -78,23 +125,34 @@ public class EntityAResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!entityARepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        EntityA result = entityARepository
+            .findById(id)
+            .map(existingEntityA -> {
+                ETagUtil.checkVersion(existingEntityA.getVersion(), ifMatch, entityA.getVersion(), ENTITY_NAME);
+                existingEntityA.setName(entityA.getName());
+                existingEntityA.setTitle(entityA.getTitle());
+                existingEntityA.setDescription(entityA.getDescription());
 
-        entityA = entityARepository.save(entityA);
+                return existingEntityA;
+            })
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        entityARepository.flush();
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, entityA.getId().toString()))
-            .body(entityA);
+            .eTag(ETagUtil.eTag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /entity-as/:id} : Partial updates given fields of an existing entityA, field will ignore if it is null
      *
      * @param id the id of the entityA to save.
-     * @param entityA the entityA to update.
+     * @param ifMatch the ETag of the entityA when it was read, if it must not have been modified since.
+     * @param entityA the entityA to update, with the version it was read in if it must not have been modified since.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated entityA,
      * or with status {@code 400 (Bad Request)} if the entityA is not valid,
+     * or with status {@code 409 (Conflict)} if the entityA was modified since the version of the body,
+     * or with status {@code 412 (Precondition Failed)} if the entityA was modified since the {@code If-Match} ETag,
      * or with status {@code 404 (Not Found)} if the entityA is not found,
      * or with status {@code 500 (Internal Server Error)} if the entityA couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -102,6 +160,7 @@ public class EntityAResource {
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<EntityA> partialUpdateEntityA(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody EntityA entityA
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update EntityA partially : {}, {}", id, entityA);
@@ -112,13 +171,10 @@ public class EntityAResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!entityARepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<EntityA> result = entityARepository
+        EntityA result = entityARepository
             .findById(entityA.getId())
             .map(existingEntityA -> {
+                ETagUtil.checkVersion(existingEntityA.getVersion(), ifMatch, entityA.getVersion(), ENTITY_NAME);
                 if (entityA.getName() != null) {
                     existingEntityA.setName(entityA.getName());
                 }
@@ -131,35 +187,155 @@ public class EntityAResource {
 
                 return existingEntityA;
             })
-            .map(entityARepository::save);
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        entityARepository.flush();
+        return ResponseEntity.ok()
+            .eTag(ETagUtil.eTag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, entityA.getId().toString())
-        );
+    /**
+     * {@code POST  /entity-as/batch} : Create new entityAS.
+     * <p>
+     * The body is either a JSON array or newline-delimited JSON, read while the entityAS are saved in chunks, each in
+     * its own transaction. If an entityA is invalid, the chunks before its own stay saved.
+     *
+     * @param body the entityAS to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ids of the new entityAS,
+     * or with status {@code 400 (Bad Request)} if an entityA has already an ID or the body is invalid.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> createEntityAS(InputStream body) throws IOException {
+        LOG.debug("REST request to save a batch of EntityAS");
+        try (MappingIterator<EntityA> entityAS = objectMapper.readerFor(EntityA.class).readValues(body)) {
+            return ResponseEntity.ok(bulkService.createAll(entityAS));
+        } catch (InvalidBulkRowException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        } catch (RuntimeJsonMappingException e) {
+            throw new BadRequestAlertException("Invalid entityA: " + e.getMessage(), ENTITY_NAME, "bodyinvalid");
+        }
+    }
+
+    /**
+     * {@code PUT  /entity-as/batch} : Updates existing entityAS.
+     * <p>
+     * The body is either a JSON array or newline-delimited JSON, read while the entityAS are saved in chunks, each in
+     * its own transaction. If an entityA is invalid, the chunks before its own stay saved.
+     *
+     * @param body the entityAS to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ids of the updated entityAS,
+     * or with status {@code 400 (Bad Request)} if an entityA has no ID, does not exist or was modified since
+     * its version, or the body is invalid.
+     * @throws IOException if the body cannot be read.
+     */
+    @PutMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> updateEntityAS(InputStream body) throws IOException {
+        LOG.debug("REST request to update a batch of EntityAS");
+        try (MappingIterator<EntityA> entityAS = objectMapper.readerFor(EntityA.class).readValues(body)) {
+            return ResponseEntity.ok(bulkService.updateAll(EntityA.class, entityAS));
+        } catch (InvalidBulkRowException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        } catch (RuntimeJsonMappingException e) {
+            throw new BadRequestAlertException("Invalid entityA: " + e.getMessage(), ENTITY_NAME, "bodyinvalid");
+        }
+    }
+
+    /**
+     * {@code DELETE  /entity-as/batch} : delete entityAS.
+     * <p>
+     * The body is either a JSON array or newline-delimited JSON of ids. Ids of entityAS which do not exist are ignored.
+     *
+     * @param body the ids of the entityAS to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ids of the deleted entityAS,
+     * or with status {@code 400 (Bad Request)} if the body is invalid.
+     * @throws IOException if the body cannot be read.
+     */
+    @DeleteMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> deleteEntityAS(InputStream body) throws IOException {
+        LOG.debug("REST request to delete a batch of EntityAS");
+        try (MappingIterator<Long> ids = objectMapper.readerFor(Long.class).readValues(body)) {
+            return ResponseEntity.ok(bulkService.deleteAll(EntityA.class, ids));
+        } catch (RuntimeJsonMappingException e) {
+            throw new BadRequestAlertException("Invalid id: " + e.getMessage(), ENTITY_NAME, "bodyinvalid");
+        }
     }
 
     /**
      * {@code GET  /entity-as} : get all the entityAS.
+     * <p>
+     * In slice mode the matching entityAS are not counted: the {@code X-Total-Count} header is not sent, and the
+     * {@code Link} header only points to the previous and next pages.
      *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param slice whether to skip counting the matching entityAS.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of entityAS in body.
      */
     @GetMapping("")
-    public List<EntityA> getAllEntityAS() {
-        LOG.debug("REST request to get all EntityAS");
-        return entityARepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EntityA>> getAllEntityAS(
+        EntityACriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "slice", defaultValue = "false") boolean slice
+    ) {
+        LOG.debug("REST request to get EntityAS by criteria: {}", criteria);
+        if (slice) {
+            Slice<EntityA> page = entityAQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SliceUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        Page<EntityA> page = entityAQueryService.findByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /entity-as/count} : count all the entityAS.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Long> countEntityAS(EntityACriteria criteria) {
+        LOG.debug("REST request to count EntityAS by criteria: {}", criteria);
+        return ResponseEntity.ok().body(entityAQueryService.countByCriteria(criteria));
     }
 
     /**
      * {@code GET  /entity-as/:id} : get the "id" entityA.
+     * <p>
+     * The response has the version of the entityA as ETag, and is {@code 304 (Not Modified)} when the {@code If-None-Match}
+     * header holds it.
      *
      * @param id the id of the entityA to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entityA, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entityA, or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<EntityA> getEntityA(@PathVariable("id") Long id) {
         LOG.debug("REST request to get EntityA : {}", id);
         Optional<EntityA> entityA = entityARepository.findById(id);
+        return ETagUtil.wrapOrNotFound(entityA, EntityA::getVersion);
+    }
+
+    /**
+     * {@code GET  /entity-as/:id?asOf=:asOf} : get the "id" entityA as it was at a given instant, rebuilt from its history.
+     *
+     * @param id the id of the entityA to retrieve.
+     * @param asOf the instant to retrieve the entityA at.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entityA, or with status {@code 404 (Not Found)} if it did not exist at that instant.
+     */
+    @GetMapping(value = "/{id}", params = "asOf")
+    @Transactional(readOnly = true)
+    public ResponseEntity<EntityA> getEntityAAsOf(@PathVariable("id") Long id, @RequestParam("asOf") ZonedDateTime asOf) {
+        LOG.debug("REST request to get EntityA : {} as of {}", id, asOf);
+        Optional<EntityA> entityA = entityHistoryReconstructor.reconstruct(EntityA.class, id, asOf);
         return ResponseUtil.wrapOrNotFound(entityA);
     }
 
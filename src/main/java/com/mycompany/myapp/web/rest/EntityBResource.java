@@ -1,20 +1,42 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import com.mycompany.myapp.domain.EntityB;
 import com.mycompany.myapp.repository.EntityBRepository;
+import com.mycompany.myapp.service.BulkService;
+import com.mycompany.myapp.service.EntityBQueryService;
+import com.mycompany.myapp.service.InvalidBulkRowException;
+import com.mycompany.myapp.service.criteria.EntityBCriteria;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
+import com.mycompany.myapp.service.history.EntityHistoryReconstructor;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.SliceUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -34,8 +56,26 @@ public class EntityBResource {
 
     private final EntityBRepository entityBRepository;
 
-    public EntityBResource(EntityBRepository entityBRepository) {
+    private final EntityBQueryService entityBQueryService;
+
+    private final EntityHistoryReconstructor entityHistoryReconstructor;
+
+    private final BulkService bulkService;
+
+    private final ObjectMapper objectMapper;
+
+    public EntityBResource(
+        EntityBRepository entityBRepository,
+        EntityBQueryService entityBQueryService,
+        EntityHistoryReconstructor entityHistoryReconstructor,
+        BulkService bulkService,
+        ObjectMapper objectMapper
+    ) {
         this.entityBRepository = entityBRepository;
+        this.entityBQueryService = entityBQueryService;
+        this.entityHistoryReconstructor = entityHistoryReconstructor;
+        this.bulkService = bulkService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -53,6 +93,7 @@ public class EntityBResource {
         }
         entityB = entityBRepository.save(entityB);
         return ResponseEntity.created(new URI("/api/entity-bs/" + entityB.getId()))
+            .eTag(ETagUtil.eTag(entityB.getVersion()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, entityB.getId().toString()))
             .body(entityB);
     }
@@ -61,15 +102,21 @@ public class EntityBResource {
      * {@code PUT  /entity-bs/:id} : Updates an existing entityB.
      *
      * @param id the id of the entityB to save.
-     * @param entityB the entityB to update.
+     * @param ifMatch the ETag of the entityB when it was read, if it must not have been modified since.
+     * @param entityB the entityB to update, with the version it was read in if it must not have been modified since.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated entityB,
      * or with status {@code 400 (Bad Request)} if the entityB is not valid,
+     * or with status {@code 409 (Conflict)} if the entityB was modified since the version of the body,
+     * or with status {@code 412 (Precondition Failed)} if the entityB was modified since the {@code If-Match} ETag,
      * or with status {@code 500 (Internal Server Error)} if the entityB couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<EntityB> updateEntityB(@PathVariable(value = "id", required = false) final Long id, @RequestBody EntityB entityB)
-        throws URISyntaxException {
+    public ResponseEntity<EntityB> updateEntityB(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody EntityB entityB
+    ) throws URISyntaxException {
         LOG.debug("REST request to update EntityB : {}, {}", id, entityB);
         if (entityB.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -78,23 +125,33 @@ public class EntityBResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!entityBRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        EntityB result = entityBRepository
+            .findById(id)
+            .map(existingEntityB -> {
+                ETagUtil.checkVersion(existingEntityB.getVersion(), ifMatch, entityB.getVersion(), ENTITY_NAME);
+                existingEntityB.setFirstName(entityB.getFirstName());
+                existingEntityB.setLastName(entityB.getLastName());
 
-        entityB = entityBRepository.save(entityB);
+                return existingEntityB;
+            })
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        entityBRepository.flush();
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, entityB.getId().toString()))
-            .body(entityB);
+            .eTag(ETagUtil.eTag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /entity-bs/:id} : Partial updates given fields of an existing entityB, field will ignore if it is null
      *
      * @param id the id of the entityB to save.
-     * @param entityB the entityB to update.
+     * @param ifMatch the ETag of the entityB when it was read, if it must not have been modified since.
+     * @param entityB the entityB to update, with the version it was read in if it must not have been modified since.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated entityB,
      * or with status {@code 400 (Bad Request)} if the entityB is not valid,
+     * or with status {@code 409 (Conflict)} if the entityB was modified since the version of the body,
+     * or with status {@code 412 (Precondition Failed)} if the entityB was modified since the {@code If-Match} ETag,
      * or with status {@code 404 (Not Found)} if the entityB is not found,
      * or with status {@code 500 (Internal Server Error)} if the entityB couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -102,6 +159,7 @@ public class EntityBResource {
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<EntityB> partialUpdateEntityB(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody EntityB entityB
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update EntityB partially : {}, {}", id, entityB);
@@ -112,13 +170,10 @@ public class EntityBResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!entityBRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<EntityB> result = entityBRepository
+        EntityB result = entityBRepository
             .findById(entityB.getId())
             .map(existingEntityB -> {
+                ETagUtil.checkVersion(existingEntityB.getVersion(), ifMatch, entityB.getVersion(), ENTITY_NAME);
                 if (entityB.getFirstName() != null) {
                     existingEntityB.setFirstName(entityB.getFirstName());
                 }
@@ -128,35 +183,155 @@ public class EntityBResource {
 
                 return existingEntityB;
             })
-            .map(entityBRepository::save);
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        entityBRepository.flush();
+        return ResponseEntity.ok()
+            .eTag(ETagUtil.eTag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, entityB.getId().toString())
-        );
+    /**
+     * {@code POST  /entity-bs/batch} : Create new entityBS.
+     * <p>
+     * The body is either a JSON array or newline-delimited JSON, read while the entityBS are saved in chunks, each in
+     * its own transaction. If an entityB is invalid, the chunks before its own stay saved.
+     *
+     * @param body the entityBS to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ids of the new entityBS,
+     * or with status {@code 400 (Bad Request)} if an entityB has already an ID or the body is invalid.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> createEntityBS(InputStream body) throws IOException {
+        LOG.debug("REST request to save a batch of EntityBS");
+        try (MappingIterator<EntityB> entityBS = objectMapper.readerFor(EntityB.class).readValues(body)) {
+            return ResponseEntity.ok(bulkService.createAll(entityBS));
+        } catch (InvalidBulkRowException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        } catch (RuntimeJsonMappingException e) {
+            throw new BadRequestAlertException("Invalid entityB: " + e.getMessage(), ENTITY_NAME, "bodyinvalid");
+        }
+    }
+
+    /**
+     * {@code PUT  /entity-bs/batch} : Updates existing entityBS.
+     * <p>
+     * The body is either a JSON array or newline-delimited JSON, read while the entityBS are saved in chunks, each in
+     * its own transaction. If an entityB is invalid, the chunks before its own stay saved.
+     *
+     * @param body the entityBS to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ids of the updated entityBS,
+     * or with status {@code 400 (Bad Request)} if an entityB has no ID, does not exist or was modified since
+     * its version, or the body is invalid.
+     * @throws IOException if the body cannot be read.
+     */
+    @PutMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> updateEntityBS(InputStream body) throws IOException {
+        LOG.debug("REST request to update a batch of EntityBS");
+        try (MappingIterator<EntityB> entityBS = objectMapper.readerFor(EntityB.class).readValues(body)) {
+            return ResponseEntity.ok(bulkService.updateAll(EntityB.class, entityBS));
+        } catch (InvalidBulkRowException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        } catch (RuntimeJsonMappingException e) {
+            throw new BadRequestAlertException("Invalid entityB: " + e.getMessage(), ENTITY_NAME, "bodyinvalid");
+        }
+    }
+
+    /**
+     * {@code DELETE  /entity-bs/batch} : delete entityBS.
+     * <p>
+     * The body is either a JSON array or newline-delimited JSON of ids. Ids of entityBS which do not exist are ignored.
+     *
+     * @param body the ids of the entityBS to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ids of the deleted entityBS,
+     * or with status {@code 400 (Bad Request)} if the body is invalid.
+     * @throws IOException if the body cannot be read.
+     */
+    @DeleteMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> deleteEntityBS(InputStream body) throws IOException {
+        LOG.debug("REST request to delete a batch of EntityBS");
+        try (MappingIterator<Long> ids = objectMapper.readerFor(Long.class).readValues(body)) {
+            return ResponseEntity.ok(bulkService.deleteAll(EntityB.class, ids));
+        } catch (RuntimeJsonMappingException e) {
+            throw new BadRequestAlertException("Invalid id: " + e.getMessage(), ENTITY_NAME, "bodyinvalid");
+        }
     }
 
     /**
      * {@code GET  /entity-bs} : get all the entityBS.
+     * <p>
+     * In slice mode the matching entityBS are not counted: the {@code X-Total-Count} header is not sent, and the
+     * {@code Link} header only points to the previous and next pages.
      *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param slice whether to skip counting the matching entityBS.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of entityBS in body.
      */
     @GetMapping("")
-    public List<EntityB> getAllEntityBS() {
-        LOG.debug("REST request to get all EntityBS");
-        return entityBRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EntityB>> getAllEntityBS(
+        EntityBCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "slice", defaultValue = "false") boolean slice
+    ) {
+        LOG.debug("REST request to get EntityBS by criteria: {}", criteria);
+        if (slice) {
+            Slice<EntityB> page = entityBQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SliceUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        Page<EntityB> page = entityBQueryService.findByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /entity-bs/count} : count all the entityBS.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Long> countEntityBS(EntityBCriteria criteria) {
+        LOG.debug("REST request to count EntityBS by criteria: {}", criteria);
+        return ResponseEntity.ok().body(entityBQueryService.countByCriteria(criteria));
     }
 
     /**
      * {@code GET  /entity-bs/:id} : get the "id" entityB.
+     * <p>
+     * The response has the version of the entityB as ETag, and is {@code 304 (Not Modified)} when the {@code If-None-Match}
+     * header holds it.
      *
      * @param id the id of the entityB to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entityB, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entityB, or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<EntityB> getEntityB(@PathVariable("id") Long id) {
         LOG.debug("REST request to get EntityB : {}", id);
         Optional<EntityB> entityB = entityBRepository.findById(id);
+        return ETagUtil.wrapOrNotFound(entityB, EntityB::getVersion);
+    }
+
+    /**
+     * {@code GET  /entity-bs/:id?asOf=:asOf} : get the "id" entityB as it was at a given instant, rebuilt from its history.
+     *
+     * @param id the id of the entityB to retrieve.
+     * @param asOf the instant to retrieve the entityB at.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entityB, or with status {@code 404 (Not Found)} if it did not exist at that instant.
+     */
+    @GetMapping(value = "/{id}", params = "asOf")
+    @Transactional(readOnly = true)
+    public ResponseEntity<EntityB> getEntityBAsOf(@PathVariable("id") Long id, @RequestParam("asOf") ZonedDateTime asOf) {
+        LOG.debug("REST request to get EntityB : {} as of {}", id, asOf);
+        Optional<EntityB> entityB = entityHistoryReconstructor.reconstruct(EntityB.class, id, asOf);
         return ResponseUtil.wrapOrNotFound(entityB);
     }
 
@@ -1,23 +1,45 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.EntityHistory;
 import com.mycompany.myapp.repository.EntityHistoryRepository;
+import com.mycompany.myapp.service.EntityHistoryQueryService;
+import com.mycompany.myapp.service.criteria.EntityHistoryCriteria;
+import com.mycompany.myapp.service.history.EntityHistoryCompressor;
+import com.mycompany.myapp.service.history.EntityHistoryReconstructor;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.EntityHistory}.
@@ -31,13 +53,39 @@ public class EntityHistoryResource {
 
     private static final String ENTITY_NAME = "entityHistory";
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String EXPORT_TIMEOUT_INTERCEPTOR_KEY = EntityHistoryResource.class.getName() + ".exportTimeout";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final EntityHistoryRepository entityHistoryRepository;
 
-    public EntityHistoryResource(EntityHistoryRepository entityHistoryRepository) {
+    private final EntityHistoryQueryService entityHistoryQueryService;
+
+    private final EntityHistoryCompressor entityHistoryCompressor;
+
+    private final EntityHistoryReconstructor entityHistoryReconstructor;
+
+    private final ObjectMapper objectMapper;
+
+    private final long exportTimeoutMs;
+
+    public EntityHistoryResource(
+        EntityHistoryRepository entityHistoryRepository,
+        EntityHistoryQueryService entityHistoryQueryService,
+        EntityHistoryCompressor entityHistoryCompressor,
+        EntityHistoryReconstructor entityHistoryReconstructor,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
         this.entityHistoryRepository = entityHistoryRepository;
+        this.entityHistoryQueryService = entityHistoryQueryService;
+        this.entityHistoryCompressor = entityHistoryCompressor;
+        this.entityHistoryReconstructor = entityHistoryReconstructor;
+        this.objectMapper = objectMapper;
+        this.exportTimeoutMs = applicationProperties.getEntityHistory().getExportTimeoutMs();
     }
 
     /**
@@ -54,7 +102,9 @@ public class EntityHistoryResource {
             throw new BadRequestAlertException("A new entityHistory cannot already have an ID", ENTITY_NAME, "idexists");
         }
         entityHistory = entityHistoryRepository.save(entityHistory);
+        entityHistoryReconstructor.evict(entityHistory.getEntityName(), entityHistory.getEntityId());
         return ResponseEntity.created(new URI("/api/entity-histories/" + entityHistory.getId()))
+            .eTag(ETagUtil.eTag(entityHistory.getVersion()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, entityHistory.getId().toString()))
             .body(entityHistory);
     }
@@ -63,15 +113,19 @@ public class EntityHistoryResource {
      * {@code PUT  /entity-histories/:id} : Updates an existing entityHistory.
      *
      * @param id the id of the entityHistory to save.
-     * @param entityHistory the entityHistory to update.
+     * @param ifMatch the ETag of the entityHistory when it was read, if it must not have been modified since.
+     * @param entityHistory the entityHistory to update, with the version it was read in if it must not have been modified since.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated entityHistory,
      * or with status {@code 400 (Bad Request)} if the entityHistory is not valid,
+     * or with status {@code 409 (Conflict)} if the entityHistory was modified since the version of the body,
+     * or with status {@code 412 (Precondition Failed)} if the entityHistory was modified since the {@code If-Match} ETag,
      * or with status {@code 500 (Internal Server Error)} if the entityHistory couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<EntityHistory> updateEntityHistory(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody EntityHistory entityHistory
     ) throws URISyntaxException {
         LOG.debug("REST request to update EntityHistory : {}, {}", id, entityHistory);
@@ -82,23 +136,40 @@ public class EntityHistoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!entityHistoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        EntityHistory result = entityHistoryRepository
+            .findById(id)
+            .map(existingEntityHistory -> {
+                ETagUtil.checkVersion(existingEntityHistory.getVersion(), ifMatch, entityHistory.getVersion(), ENTITY_NAME);
+                entityHistoryReconstructor.evict(existingEntityHistory.getEntityName(), existingEntityHistory.getEntityId());
+                existingEntityHistory.setUserLogin(entityHistory.getUserLogin());
+                existingEntityHistory.setEntityName(entityHistory.getEntityName());
+                existingEntityHistory.setEntityId(entityHistory.getEntityId());
+                existingEntityHistory.setActionType(entityHistory.getActionType());
+                existingEntityHistory.setContent(entityHistory.getContent());
+                existingEntityHistory.setContentContentType(entityHistory.getContentContentType());
+                existingEntityHistory.setCreationDate(entityHistory.getCreationDate());
+                entityHistoryReconstructor.evict(existingEntityHistory.getEntityName(), existingEntityHistory.getEntityId());
 
-        entityHistory = entityHistoryRepository.save(entityHistory);
+                return existingEntityHistory;
+            })
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        entityHistoryRepository.flush();
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, entityHistory.getId().toString()))
-            .body(entityHistory);
+            .eTag(ETagUtil.eTag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .body(result);
     }
 
     /**
      * {@code PATCH  /entity-histories/:id} : Partial updates given fields of an existing entityHistory, field will ignore if it is null
      *
      * @param id the id of the entityHistory to save.
-     * @param entityHistory the entityHistory to update.
+     * @param ifMatch the ETag of the entityHistory when it was read, if it must not have been modified since.
+     * @param entityHistory the entityHistory to update, with the version it was read in if it must not have been modified since.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated entityHistory,
      * or with status {@code 400 (Bad Request)} if the entityHistory is not valid,
+     * or with status {@code 409 (Conflict)} if the entityHistory was modified since the version of the body,
+     * or with status {@code 412 (Precondition Failed)} if the entityHistory was modified since the {@code If-Match} ETag,
      * or with status {@code 404 (Not Found)} if the entityHistory is not found,
      * or with status {@code 500 (Internal Server Error)} if the entityHistory couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -106,6 +177,7 @@ public class EntityHistoryResource {
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<EntityHistory> partialUpdateEntityHistory(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody EntityHistory entityHistory
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update EntityHistory partially : {}, {}", id, entityHistory);
@@ -116,13 +188,11 @@ public class EntityHistoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!entityHistoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<EntityHistory> result = entityHistoryRepository
+        EntityHistory result = entityHistoryRepository
             .findById(entityHistory.getId())
             .map(existingEntityHistory -> {
+                ETagUtil.checkVersion(existingEntityHistory.getVersion(), ifMatch, entityHistory.getVersion(), ENTITY_NAME);
+                entityHistoryReconstructor.evict(existingEntityHistory.getEntityName(), existingEntityHistory.getEntityId());
                 if (entityHistory.getUserLogin() != null) {
                     existingEntityHistory.setUserLogin(entityHistory.getUserLogin());
                 }
@@ -144,39 +214,129 @@ public class EntityHistoryResource {
                 if (entityHistory.getCreationDate() != null) {
                     existingEntityHistory.setCreationDate(entityHistory.getCreationDate());
                 }
+                entityHistoryReconstructor.evict(existingEntityHistory.getEntityName(), existingEntityHistory.getEntityId());
 
                 return existingEntityHistory;
             })
-            .map(entityHistoryRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, entityHistory.getId().toString())
-        );
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        entityHistoryRepository.flush();
+        return ResponseEntity.ok()
+            .eTag(ETagUtil.eTag(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .body(result);
     }
 
     /**
-     * {@code GET  /entity-histories} : get all the entityHistories.
+     * {@code GET  /entity-histories} : get a page of the entityHistories, in chronological order.
+     * <p>
+     * When the page is full, the {@code Link} header holds the URL of the next page, which starts right after the last
+     * entityHistory of this one. Compressed contents are returned decompressed.
      *
+     * @param criteria the criteria which the requested entities should match.
+     * @param afterCreationDate the creation date of the last entityHistory of the previous page.
+     * @param afterId the id of the last entityHistory of the previous page.
+     * @param size the maximum number of entityHistories to return, at most {@value #MAX_PAGE_SIZE}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of entityHistories in body.
      */
     @GetMapping("")
-    public List<EntityHistory> getAllEntityHistories() {
-        LOG.debug("REST request to get all EntityHistories");
-        return entityHistoryRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EntityHistory>> getAllEntityHistories(
+        EntityHistoryCriteria criteria,
+        @RequestParam(name = "afterCreationDate", required = false) ZonedDateTime afterCreationDate,
+        @RequestParam(name = "afterId", required = false) Long afterId,
+        @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get EntityHistories by criteria: {}", criteria);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<EntityHistory> page = entityHistoryQueryService.findByCriteria(criteria, afterCreationDate, afterId, pageSize);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.size() == pageSize) {
+            EntityHistory last = page.get(page.size() - 1);
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("afterCreationDate", last.getCreationDate().toInstant())
+                .replaceQueryParam("afterId", last.getId())
+                .replaceQueryParam("size", pageSize)
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(page.stream().map(entityHistoryCompressor::decompress).toList());
+    }
+
+    /**
+     * {@code GET  /entity-histories/export} : export all the entityHistories matching the criteria, in chronological order.
+     * <p>
+     * The entityHistories are streamed as newline-delimited JSON while they are read from the database, so that an export
+     * of any size uses a constant amount of memory. Compressed contents are exported decompressed. The export may take up
+     * to {@code application.entity-history.export-timeout-ms}, instead of the default async request timeout.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param gzip whether to send the export as a gzip file.
+     * @param request the request, whose async processing timeout is raised.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the entityHistories in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEntityHistories(
+        EntityHistoryCriteria criteria,
+        @RequestParam(name = "gzip", defaultValue = "false") boolean gzip,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to export EntityHistories by criteria: {}", criteria);
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(
+            EXPORT_TIMEOUT_INTERCEPTOR_KEY,
+            new CallableProcessingInterceptor() {
+                @Override
+                public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                    // Called with the async request of the streamed body, before its processing starts
+                    ((AsyncWebRequest) asyncRequest).setTimeout(exportTimeoutMs);
+                }
+            }
+        );
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            try {
+                entityHistoryQueryService.streamByCriteria(criteria, entityHistory -> writeLine(out, entityHistory));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+        };
+        String filename = gzip ? "entity-histories.ndjson.gz" : "entity-histories.ndjson";
+        return ResponseEntity.ok()
+            .contentType(gzip ? new MediaType("application", "gzip") : MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+
+    private void writeLine(OutputStream out, EntityHistory entityHistory) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(entityHistoryCompressor.decompress(entityHistory)));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * {@code GET  /entity-histories/:id} : get the "id" entityHistory.
+     * <p>
+     * A compressed content is returned decompressed, unless the {@code If-None-Match} header holds the ETag of the
+     * entityHistory, in which case it is not even decompressed.
      *
      * @param id the id of the entityHistory to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entityHistory, or with status {@code 404 (Not Found)}.
+     * @param request the request, holding the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the entityHistory, or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<EntityHistory> getEntityHistory(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<EntityHistory> getEntityHistory(@PathVariable("id") Long id, WebRequest request) {
         LOG.debug("REST request to get EntityHistory : {}", id);
         Optional<EntityHistory> entityHistory = entityHistoryRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(entityHistory);
+        if (entityHistory.filter(found -> request.checkNotModified(ETagUtil.eTag(found.getVersion()))).isPresent()) {
+            return null;
+        }
+        return ETagUtil.wrapOrNotFound(entityHistory.map(entityHistoryCompressor::decompress), EntityHistory::getVersion);
     }
 
     /**
@@ -188,7 +348,12 @@ public class EntityHistoryResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEntityHistory(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete EntityHistory : {}", id);
-        entityHistoryRepository.deleteById(id);
+        entityHistoryRepository
+            .findById(id)
+            .ifPresent(entityHistory -> {
+                entityHistoryReconstructor.evict(entityHistory.getEntityName(), entityHistory.getEntityId());
+                entityHistoryRepository.delete(entityHistory);
+            });
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
@@ -222,15 +222,28 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
-        return err instanceof BadRequestAlertException badRequestAlertException
-            ? HeaderUtil.createFailureAlert(
+        if (err instanceof BadRequestAlertException badRequestAlertException) {
+            return HeaderUtil.createFailureAlert(
                 applicationName,
                 true,
                 badRequestAlertException.getEntityName(),
                 badRequestAlertException.getErrorKey(),
                 badRequestAlertException.getMessage()
-            )
-            : null;
+            );
+        }
+        if (err instanceof PreconditionFailedAlertException preconditionFailedAlertException) {
+            return HeaderUtil.createFailureAlert(
+                applicationName,
+                true,
+                preconditionFailedAlertException.getEntityName(),
+                preconditionFailedAlertException.getErrorKey(),
+                preconditionFailedAlertException.getMessage()
+            );
+        }
+        if (err instanceof TooManyLoginAttemptsException tooManyLoginAttemptsException) {
+            return tooManyLoginAttemptsException.getHeaders();
+        }
+        return null;
     }
 
     public Optional<ProblemDetailWithCause> buildCause(final Throwable throwable, NativeWebRequest request) {
@@ -0,0 +1,44 @@
+package com.mycompany.myapp.web.rest.errors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class PreconditionFailedAlertException extends ErrorResponseException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String entityName;
+
+    private final String errorKey;
+
+    public PreconditionFailedAlertException(String defaultMessage, String entityName, String errorKey) {
+        super(
+            HttpStatus.PRECONDITION_FAILED,
+            ProblemDetailWithCauseBuilder.instance()
+                .withStatus(HttpStatus.PRECONDITION_FAILED.value())
+                .withType(ErrorConstants.DEFAULT_TYPE)
+                .withTitle(defaultMessage)
+                .withProperty("message", "error." + errorKey)
+                .withProperty("params", entityName)
+                .build(),
+            null
+        );
+        this.entityName = entityName;
+        this.errorKey = errorKey;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+
+    public ProblemDetailWithCause getProblemDetailWithCause() {
+        return (ProblemDetailWithCause) this.getBody();
+    }
+}
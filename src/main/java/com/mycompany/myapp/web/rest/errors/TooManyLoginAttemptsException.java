@@ -0,0 +1,32 @@
+package com.mycompany.myapp.web.rest.errors;
+
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class TooManyLoginAttemptsException extends ErrorResponseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TooManyLoginAttemptsException(Duration retryAfter) {
+        super(
+            HttpStatus.TOO_MANY_REQUESTS,
+            ProblemDetailWithCauseBuilder.instance()
+                .withStatus(HttpStatus.TOO_MANY_REQUESTS.value())
+                .withType(ErrorConstants.DEFAULT_TYPE)
+                .withTitle("Too many login attempts")
+                .withProperty("message", ErrorConstants.ERR_TOO_MANY_LOGIN_ATTEMPTS)
+                .build(),
+            null
+        );
+        getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter.toSeconds()));
+    }
+
+    public ProblemDetailWithCause getProblemDetailWithCause() {
+        return (ProblemDetailWithCause) this.getBody();
+    }
+}
@@ -0,0 +1,75 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedAlertException;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Utility class for the strong ETags of entities, made of their {@code @Version}.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {}
+
+    /**
+     * Build the strong ETag of a version of an entity.
+     *
+     * @param version the version of the entity.
+     * @return the quoted ETag.
+     */
+    public static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Wrap the optional into a {@link ResponseEntity} with an {@code ETag} header, or throw a 404 if it is empty.
+     * <p>
+     * When the {@code If-None-Match} header of a GET request holds this ETag, Spring MVC answers {@code 304 (Not Modified)}
+     * before serializing the body, so a client revalidating an unchanged entity costs a lookup of its version, usually a
+     * hit in the second-level cache.
+     *
+     * @param maybeResponse the response to return if present.
+     * @param version the function giving the version of the response.
+     * @param <X> type of the response.
+     * @return the response with status {@code 200 (OK)} and an {@code ETag} header.
+     */
+    public static <X> ResponseEntity<X> wrapOrNotFound(Optional<X> maybeResponse, Function<X, Long> version) {
+        return maybeResponse
+            .map(response -> ResponseEntity.ok().eTag(eTag(version.apply(response))).body(response))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Check that the entity about to be updated is still in the version the client read: the one of the {@code If-Match}
+     * header if any, then the one of the body if any. Without either, the last writer wins.
+     *
+     * @param version the current version of the entity.
+     * @param ifMatch the {@code If-Match} header, or {@code null}.
+     * @param expectedVersion the version sent in the body, or {@code null}.
+     * @param entityName the name of the entity.
+     * @throws PreconditionFailedAlertException {@code 412 (Precondition Failed)} if the {@code If-Match} header does not match.
+     * @throws OptimisticLockingFailureException {@code 409 (Conflict)} if the version sent in the body does not match.
+     */
+    public static void checkVersion(Long version, String ifMatch, Long expectedVersion, String entityName) {
+        if (ifMatch != null && !matches(ifMatch, eTag(version))) {
+            throw new PreconditionFailedAlertException("The " + entityName + " was modified", entityName, "versionmismatch");
+        }
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            throw new OptimisticLockingFailureException("The " + entityName + " was modified since version " + expectedVersion);
+        }
+    }
+
+    private static boolean matches(String ifMatch, String eTag) {
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || eTag.equals(trimmed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,44 @@
+package com.mycompany.myapp.web.rest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for the pagination of slices, which unlike pages do not know their total count.
+ */
+public final class SliceUtil {
+
+    private SliceUtil() {}
+
+    /**
+     * Generate the {@code Link} header of a slice, with the next and previous slices when there are some, but no first or
+     * last slice and no {@code X-Total-Count} header.
+     *
+     * @param uriBuilder the builder of the URI of the request.
+     * @param slice the slice.
+     * @param <T> type of the content of the slice.
+     * @return the http headers.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        List<String> links = new ArrayList<>(2);
+        if (slice.hasNext()) {
+            links.add(prepareLink(uriBuilder, slice.getNumber() + 1, slice.getSize(), "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(prepareLink(uriBuilder, slice.getNumber() - 1, slice.getSize(), "prev"));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (!links.isEmpty()) {
+            headers.add(HttpHeaders.LINK, String.join(",", links));
+        }
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int page, int size, String relation) {
+        String uri = uriBuilder.cloneBuilder().replaceQueryParam("page", page).replaceQueryParam("size", size).toUriString();
+        return "<" + uri + ">; rel=\"" + relation + "\"";
+    }
+}
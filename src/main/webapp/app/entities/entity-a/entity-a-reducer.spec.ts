@@ -22,6 +22,7 @@ describe('Entities reducer tests', () => {
     entity: defaultValue,
     updating: false,
     updateSuccess: false,
+    totalItems: 0,
   };
 
   function testInitialState(state) {
@@ -107,7 +108,7 @@ describe('Entities reducer tests', () => {
 
   describe('Successes', () => {
     it('should fetch all entities', () => {
-      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }] };
+      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }], headers: { 'x-total-count': 123 } };
       expect(
         reducer(undefined, {
           type: getEntities.fulfilled.type,
@@ -117,6 +118,7 @@ describe('Entities reducer tests', () => {
         ...initialState,
         loading: false,
         entities: payload.data,
+        totalItems: payload.headers['x-total-count'],
       });
     });
 
@@ -3,6 +3,7 @@ export interface IEntityA {
   name?: string | null;
   title?: string | null;
   description?: string | null;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IEntityA> = {};
@@ -2,6 +2,7 @@ export interface IEntityB {
   id?: number;
   firstName?: string | null;
   lastName?: string | null;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IEntityB> = {};
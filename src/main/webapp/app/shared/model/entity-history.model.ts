@@ -10,6 +10,7 @@ export interface IEntityHistory {
   contentContentType?: string | null;
   content?: string | null;
   creationDate?: dayjs.Dayjs;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IEntityHistory> = {};
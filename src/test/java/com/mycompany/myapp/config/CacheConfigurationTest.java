@@ -0,0 +1,85 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the cache regions of the {@link com.mycompany.myapp.config.CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private static final String TIERED = "tiered";
+
+    @TempDir
+    private Path diskPath;
+
+    private com.mycompany.myapp.config.CacheConfiguration cacheConfiguration;
+
+    @BeforeEach
+    void setUp() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxEntries(10L);
+        region.setOffHeapMb(1);
+        region.setDiskMb(2);
+        applicationProperties.getCache().getRegions().put(TIERED, region);
+        cacheConfiguration = new com.mycompany.myapp.config.CacheConfiguration(jHipsterProperties, applicationProperties);
+    }
+
+    @Test
+    void shouldOnlyUseHeapByDefault() {
+        ResourcePools resourcePools = cacheConfiguration.ehcacheConfiguration("other").getResourcePools();
+
+        assertThat(resourcePools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+    }
+
+    @Test
+    void shouldTierConfiguredRegion() {
+        ResourcePools resourcePools = cacheConfiguration.ehcacheConfiguration(TIERED).getResourcePools();
+
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(1);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.MB);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(2);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.DISK).isPersistent()).isFalse();
+    }
+
+    @Test
+    void shouldKeepEntriesBeyondHeapInLowerTiers() {
+        CacheConfiguration<Object, Object> configuration = cacheConfiguration.ehcacheConfiguration(TIERED);
+        try (
+            CacheManager cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                .with(CacheManagerBuilder.persistence(diskPath.toFile()))
+                .withCache(TIERED, configuration)
+                .build(true)
+        ) {
+            Cache<Object, Object> cache = cacheManager.getCache(TIERED, Object.class, Object.class);
+            for (long id = 0; id < 1000; id++) {
+                cache.put(id, "value-" + id);
+            }
+
+            for (long id = 0; id < 1000; id++) {
+                assertThat(cache.get(id)).isEqualTo("value-" + id);
+            }
+        }
+    }
+}
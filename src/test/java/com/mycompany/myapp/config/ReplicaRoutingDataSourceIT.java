@@ -0,0 +1,41 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.EnabledIf;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the routing of read-only transactions to the replicas.
+ * <p>
+ * The replica is the test database itself, opened by another pool whose connections set an H2 variable.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.datasource.replicas[0].url=${spring.datasource.url};INIT=SET @ROLE = 'replica'")
+@EnabledIf(expression = "#{environment.matchesProfiles('testdev')}", loadContext = true)
+class ReplicaRoutingDataSourceIT {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertThat(getRole(true)).isEqualTo("replica");
+        assertThat(getRole(false)).isNull();
+    }
+
+    private Object getRole(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> em.createNativeQuery("SELECT @ROLE").getSingleResult());
+    }
+}
@@ -0,0 +1,114 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT lag_ms FROM server";
+
+    private JdbcDataSource primary;
+
+    private JdbcDataSource replica1;
+
+    private JdbcDataSource replica2;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = createDatabase("primary");
+        replica1 = createDatabase("replica1");
+        replica2 = createDatabase("replica2");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (DataSource dataSource : List.of(primary, replica1, replica2)) {
+            execute(dataSource, "SHUTDOWN");
+        }
+    }
+
+    @Test
+    void shouldUseReplicasInTurn() throws SQLException {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), null, 1000);
+
+        assertThat(serverNames(dataSource, 4)).containsExactly("replica1", "replica2", "replica1", "replica2");
+    }
+
+    @Test
+    void shouldFailOverToOtherReplicasThenToPrimary() throws SQLException {
+        JdbcDataSource down = new JdbcDataSource();
+        down.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(down, replica1), null, 1000);
+
+        assertThat(serverNames(dataSource, 2)).containsExactly("replica1", "replica1");
+        assertThat(dataSource.getAvailableReplicas()).isEqualTo(1);
+
+        execute(replica1, "SHUTDOWN");
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getAvailableReplicas()).isZero();
+        assertThat(serverNames(dataSource, 1)).containsExactly("primary");
+        replica1 = createDatabase("replica1");
+    }
+
+    @Test
+    void shouldLeaveOutLaggingReplicaUntilItCatchesUp() throws SQLException {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), LAG_QUERY, 1000);
+
+        execute(replica1, "UPDATE server SET lag_ms = 5000");
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getAvailableReplicas()).isEqualTo(1);
+        assertThat(serverNames(dataSource, 2)).containsExactly("replica2", "replica2");
+
+        execute(replica1, "UPDATE server SET lag_ms = 500");
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getAvailableReplicas()).isEqualTo(2);
+        assertThat(serverNames(dataSource, 2)).containsExactlyInAnyOrder("replica1", "replica2");
+    }
+
+    private static JdbcDataSource createDatabase(String name) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        execute(dataSource, "CREATE TABLE server (name VARCHAR(20), lag_ms BIGINT)", "INSERT INTO server VALUES ('" + name + "', 0)");
+        // Once shut down, the database is down instead of being created again
+        dataSource.setURL(dataSource.getURL() + ";IFEXISTS=TRUE");
+        return dataSource;
+    }
+
+    private static List<String> serverNames(DataSource dataSource, int connections) throws SQLException {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT name FROM server")
+            ) {
+                resultSet.next();
+                names.add(resultSet.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private static void execute(DataSource dataSource, String... sqls) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
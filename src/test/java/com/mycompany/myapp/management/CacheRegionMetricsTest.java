@@ -0,0 +1,89 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheRegionMetricsTest {
+
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> cache;
+
+    private StatisticsService statisticsService;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        cacheManager = cachingProvider.getCacheManager(
+            URI.create("urn:cache-region-metrics-test"),
+            new DefaultConfiguration(cachingProvider.getDefaultClassLoader())
+        );
+        cache = cacheManager.createCache(
+            "region",
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(2))
+            )
+        );
+        meterRegistry = new SimpleMeterRegistry();
+        statisticsService = CacheRegionMetrics.statisticsService(cacheManager);
+        new CacheRegionMetrics(cache, statisticsService.getCacheStatistics("region"), Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void shouldPublishRegionStatistics() {
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.put(3L, "three");
+        cache.get(3L);
+        cache.get(42L);
+
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "region", "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "region", "result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.puts").tag("cache", "region").functionCounter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "region").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "region").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.tier.size").tags("cache", "region", "tier", "OnHeap").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets.latency").tags("cache", "region", "result", "hit").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets.latency").tags("cache", "region", "result", "miss").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCollectStatisticsOfCachesCreatedLater() {
+        Cache<Object, Object> laterCache = cacheManager.createCache(
+            "later",
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(2))
+            )
+        );
+        laterCache.put(1L, "one");
+        laterCache.get(1L);
+
+        assertThat(statisticsService.getCacheStatistics("later").getCachePuts()).isEqualTo(1);
+        assertThat(statisticsService.getCacheStatistics("later").getCacheHits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,46 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.EntityA;
+import com.mycompany.myapp.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests for the {@link CacheStatisticsEndpoint} and the cache meters.
+ */
+@IntegrationTest
+class CacheStatisticsEndpointIT {
+
+    @Autowired
+    private CacheStatisticsEndpoint cacheStatisticsEndpoint;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldSummariseCacheStatistics() {
+        var cacheStatistics = cacheStatisticsEndpoint.cacheStatistics().get(UserRepository.USERS_BY_LOGIN_CACHE);
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("cache-statistics");
+
+        var updatedCacheStatistics = cacheStatisticsEndpoint.cacheStatistics().get(UserRepository.USERS_BY_LOGIN_CACHE);
+
+        assertThat(updatedCacheStatistics.misses()).isEqualTo(cacheStatistics.misses() + 1);
+        assertThat(updatedCacheStatistics.hitRatio()).isBetween(0.0, 1.0);
+        assertThat(updatedCacheStatistics.tierSizes()).containsKey("OnHeap");
+        assertThat(cacheStatisticsEndpoint.cacheStatistics()).containsKey(EntityA.class.getName());
+    }
+
+    @Test
+    void shouldPublishMetersOfEachRegion() {
+        assertThat(meterRegistry.find("cache.gets.latency").tag("cache", EntityA.class.getName()).timers()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.tier.size").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).gauges()).isNotEmpty();
+    }
+}
@@ -0,0 +1,176 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Benchmark of the inserts per second of concurrent writers depending on the number of ids allocated per call to the
+ * sequence, as done by the pooled-lo optimizer: 50 ids, the previous increment of {@code sequence_generator}, against
+ * 1000, its current one.
+ * <p>
+ * Each writer inserts rows in JDBC batches of 50, one transaction per batch, like EntityHistory rows written by the
+ * outbox relay. Run it with {@code -Dbenchmark=true}, and optionally {@code -Dbenchmark.rows}, against PostgreSQL with
+ * the {@code testprod} profile for meaningful figures.
+ */
+@IntegrationTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SequenceAllocationBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SequenceAllocationBenchmarkIT.class);
+
+    private static final String TABLE = "benchmark_insert";
+
+    private static final int WRITERS = 8;
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SequenceSupport sequenceSupport;
+
+    private final List<String> sequences = new ArrayList<>();
+
+    @BeforeEach
+    void createTable() throws SQLException {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        sequenceSupport = dialect.getSequenceSupport();
+        execute("create table " + TABLE + " (id bigint primary key, payload varchar(255))");
+    }
+
+    @AfterEach
+    void dropTable() throws SQLException {
+        execute("drop table " + TABLE);
+        for (String sequence : sequences) {
+            execute(sequenceSupport.getDropSequenceStrings(sequence));
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    void insertsPerSecondByAllocationSize() throws Exception {
+        double before = insertsPerSecond(50);
+        double after = insertsPerSecond(1000);
+
+        LOG.info("Inserts per second with 50 ids per sequence call: {}", Math.round(before));
+        LOG.info("Inserts per second with 1000 ids per sequence call: {}", Math.round(after));
+    }
+
+    private double insertsPerSecond(int allocationSize) throws Exception {
+        String sequence = "benchmark_sequence_" + allocationSize;
+        execute(sequenceSupport.getCreateSequenceStrings(sequence, 1, allocationSize));
+        sequences.add(sequence);
+        String nextValue = sequenceSupport.getSequenceNextValString(sequence);
+        AtomicInteger remaining = new AtomicInteger(ROWS);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(
+                    executor.submit(() -> {
+                        write(nextValue, allocationSize, remaining);
+                        return null;
+                    })
+                );
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            double insertsPerSecond = ROWS / ((System.nanoTime() - start) / 1e9);
+            assertThat(count()).isEqualTo(ROWS);
+            execute("delete from " + TABLE);
+            return insertsPerSecond;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void write(String nextValue, int allocationSize, AtomicInteger remaining) throws SQLException {
+        long nextId = 0;
+        long lastId = -1;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (
+                PreparedStatement sequenceStatement = connection.prepareStatement(nextValue);
+                PreparedStatement insertStatement = connection.prepareStatement("insert into " + TABLE + " (id, payload) values (?, ?)")
+            ) {
+                int batch;
+                while ((batch = take(remaining)) > 0) {
+                    for (int i = 0; i < batch; i++) {
+                        if (nextId > lastId) {
+                            try (ResultSet resultSet = sequenceStatement.executeQuery()) {
+                                resultSet.next();
+                                nextId = resultSet.getLong(1);
+                            }
+                            lastId = nextId + allocationSize - 1;
+                        }
+                        insertStatement.setLong(1, nextId++);
+                        insertStatement.setString(2, "{\"name\":\"AAAAAAAAAA\",\"title\":\"BBBBBBBBBB\"}");
+                        insertStatement.addBatch();
+                    }
+                    insertStatement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private static int take(AtomicInteger remaining) {
+        int left = remaining.getAndAdd(-BATCH_SIZE);
+        return Math.max(0, Math.min(BATCH_SIZE, left));
+    }
+
+    private long count() throws SQLException {
+        try (
+            Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery("select count(*) from " + TABLE)
+        ) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void execute(String... sqls) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+}
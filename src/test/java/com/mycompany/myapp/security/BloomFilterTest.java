@@ -0,0 +1,47 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldContainEveryAddedString() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        String[] values = new String[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        assertThat(values).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void shouldKeepFalsePositivesNearTheirProbability() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2000);
+    }
+
+    @Test
+    void shouldBeSizedForExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(100000, 0.01);
+
+        // About 9.6 bits and 7 hashes per string for a 1% false positive probability
+        assertThat(filter.bitSize()).isBetween(958000L, 959000L);
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThat(filter.mightContain("absent")).isFalse();
+    }
+}
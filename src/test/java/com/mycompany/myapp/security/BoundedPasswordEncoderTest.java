@@ -0,0 +1,74 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final BoundedPasswordEncoder boundedPasswordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1);
+
+    @AfterEach
+    void close() {
+        release.countDown();
+        boundedPasswordEncoder.close();
+    }
+
+    @Test
+    void shouldHashOnItsOwnThreads() {
+        release.countDown();
+
+        assertThat(boundedPasswordEncoder.encode("password")).startsWith("password-hashing-");
+        assertThat(boundedPasswordEncoder.matches("password", "hash")).isTrue();
+        assertThat(boundedPasswordEncoder.upgradeEncoding("hash")).isTrue();
+    }
+
+    @Test
+    void shouldRejectHashingWhenQueueIsFull() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("running"));
+        assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("queued"));
+        await().atMost(10, TimeUnit.SECONDS).until(() -> boundedPasswordEncoder.queuedHashings() == 1);
+
+        assertThatExceptionOfType(PasswordHashingRejectedException.class).isThrownBy(() -> boundedPasswordEncoder.encode("rejected"));
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    private class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return true;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return true;
+        }
+    }
+}
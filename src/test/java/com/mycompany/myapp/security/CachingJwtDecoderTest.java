@@ -0,0 +1,118 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.mycompany.myapp.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final List<String> decodedTokens = new ArrayList<>();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Instant now;
+
+    private CachingJwtDecoder cachingJwtDecoder;
+
+    @BeforeEach
+    void setup() {
+        now = NOW;
+        JwtDecoder delegate = token -> {
+            decodedTokens.add(token);
+            if (token.startsWith("invalid")) {
+                throw new BadJwtException("Invalid signature");
+            }
+            return Jwt.withTokenValue(token).header("alg", "HS512").subject("user").expiresAt(NOW.plus(Duration.ofHours(1))).build();
+        };
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+        cachingJwtDecoder = new CachingJwtDecoder(delegate, 2, new SecurityMetersService(meterRegistry), clock);
+    }
+
+    @Test
+    void shouldVerifyTokenOnlyOnce() {
+        Jwt jwt = cachingJwtDecoder.decode("token");
+
+        assertThat(cachingJwtDecoder.decode("token")).isSameAs(jwt);
+        assertThat(decodedTokens).containsExactly("token");
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldVerifyTokenAgainOnceExpired() {
+        cachingJwtDecoder.decode("token");
+        now = NOW.plus(Duration.ofHours(1));
+
+        cachingJwtDecoder.decode("token");
+
+        assertThat(decodedTokens).containsExactly("token", "token");
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() {
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> cachingJwtDecoder.decode("invalid"));
+        }
+
+        assertThat(decodedTokens).containsExactly("invalid", "invalid");
+        assertThat(cachingJwtDecoder.size()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheMoreThanMaxEntries() {
+        cachingJwtDecoder.decode("first");
+        cachingJwtDecoder.decode("second");
+        cachingJwtDecoder.decode("third");
+        cachingJwtDecoder.decode("third");
+
+        assertThat(cachingJwtDecoder.size()).isEqualTo(2);
+        assertThat(decodedTokens).containsExactly("first", "second", "third", "third");
+    }
+
+    @Test
+    void shouldPurgeExpiredTokensWhenFull() {
+        cachingJwtDecoder.decode("first");
+        cachingJwtDecoder.decode("second");
+        now = NOW.plus(Duration.ofHours(2));
+
+        cachingJwtDecoder.decode("third");
+
+        assertThat(cachingJwtDecoder.size()).isEqualTo(1);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", result).counter().count();
+    }
+}
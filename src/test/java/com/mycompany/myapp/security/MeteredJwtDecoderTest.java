@@ -0,0 +1,130 @@
+package com.mycompany.myapp.security;
+
+import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.mycompany.myapp.management.SecurityMetersService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+class MeteredJwtDecoderTest {
+
+    private static final SecretKey KEY = secretKey("a-secret-key-long-enough-for-hmac-sha-512-which-needs-64-bytes-of-key");
+
+    private MeterRegistry meterRegistry;
+
+    private MeteredJwtDecoder meteredJwtDecoder;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        meteredJwtDecoder = new MeteredJwtDecoder(
+            NimbusJwtDecoder.withSecretKey(KEY).macAlgorithm(JWT_ALGORITHM).build(),
+            JWT_ALGORITHM,
+            new SecurityMetersService(meterRegistry)
+        );
+    }
+
+    @Test
+    void shouldDecodeValidToken() {
+        String token = token(KEY, Instant.now().plusSeconds(60));
+
+        assertThat(meteredJwtDecoder.isWellFormed(token)).isTrue();
+        assertThat(meteredJwtDecoder.decode(token).getSubject()).isEqualTo("user");
+        assertThat(meterRegistry.find(SecurityMetersService.INVALID_TOKENS_METER_NAME).counters()).allMatch(
+            counter -> counter.count() == 0
+        );
+    }
+
+    @Test
+    void shouldCountExpiredToken() {
+        String token = token(KEY, Instant.now().minusSeconds(600));
+
+        assertThatExceptionOfType(JwtValidationException.class).isThrownBy(() -> meteredJwtDecoder.decode(token));
+        assertThat(count("expired")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountInvalidSignature() {
+        SecretKey otherKey = secretKey("another-secret-key-long-enough-for-hmac-sha-512-which-needs-64-bytes");
+        String token = token(otherKey, Instant.now().plusSeconds(60));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> meteredJwtDecoder.decode(token));
+        assertThat(count("invalid-signature")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectTokensOfTheWrongShapeBeforeParsing() {
+        String token = token(KEY, Instant.now().plusSeconds(60));
+        String[] malformedTokens = {
+            token.substring(1),
+            token.substring(0, token.length() - 1),
+            token + ".signature",
+            token.replace('.', '!'),
+            "eyJhbGciOiJub25lIn0.eyJzdWIiOiJ1c2VyIn0.",
+            "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8",
+            "eyJ" + "a".repeat(MeteredJwtDecoder.MAX_TOKEN_LENGTH),
+        };
+
+        for (String malformedToken : malformedTokens) {
+            assertThat(meteredJwtDecoder.isWellFormed(malformedToken)).as(malformedToken).isFalse();
+            assertThatExceptionOfType(BadJwtException.class)
+                .isThrownBy(() -> meteredJwtDecoder.decode(malformedToken))
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+        }
+        assertThat(count("malformed")).isEqualTo(malformedTokens.length);
+    }
+
+    @Test
+    void shouldCountUnparsableHeaderAsMalformed() {
+        String token = token(KEY, Instant.now().plusSeconds(60));
+        String unparsableToken = base64Url("{\"alg\"") + token.substring(token.indexOf('.'));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> meteredJwtDecoder.decode(unparsableToken));
+        assertThat(count("malformed")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountUnsupportedAlgorithm() {
+        String token = token(KEY, Instant.now().plusSeconds(60));
+        String unsupportedToken = base64Url("{\"alg\":\"RS512\"}") + token.substring(token.indexOf('.'));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> meteredJwtDecoder.decode(unsupportedToken));
+        assertThat(count("unsupported")).isEqualTo(1);
+    }
+
+    private double count(String cause) {
+        return meterRegistry.get(SecurityMetersService.INVALID_TOKENS_METER_NAME).tag("cause", cause).counter().count();
+    }
+
+    private static String token(SecretKey key, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder().issuedAt(expiresAt.minusSeconds(60)).expiresAt(expiresAt).subject("user").build();
+        return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims))
+            .getTokenValue();
+    }
+
+    private static SecretKey secretKey(String key) {
+        return new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), JWT_ALGORITHM.getName());
+    }
+
+    private static String base64Url(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
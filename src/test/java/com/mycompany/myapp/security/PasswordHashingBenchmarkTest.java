@@ -0,0 +1,82 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+
+/**
+ * Benchmark of the password checks per second of each password hashing setting, as done for every login, by as many
+ * concurrent logins as there are cores, through a {@link BoundedPasswordEncoder} of the configured number of threads.
+ * <p>
+ * Run it with {@code -Dbenchmark=true}, and optionally {@code -Dbenchmark.hashes} and {@code -Dbenchmark.threads}, on
+ * hardware like the production one to choose application.security.password-hashing.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PasswordHashingBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHashingBenchmarkTest.class);
+
+    private static final int HASHES = Integer.getInteger("benchmark.hashes", 200);
+
+    private static final int LOGINS = Runtime.getRuntime().availableProcessors();
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", Math.max(1, LOGINS / 2));
+
+    private static final String PASSWORD = "a-password-of-average-length";
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    void hashesPerSecondBySetting() throws Exception {
+        Map<String, PasswordEncoder> settings = new LinkedHashMap<>();
+        settings.put("bcrypt, strength 10", new BCryptPasswordEncoder(10));
+        settings.put("bcrypt, strength 12", new BCryptPasswordEncoder(12));
+        settings.put("pbkdf2, 310000 iterations", pbkdf2(310000));
+        settings.put("pbkdf2, 600000 iterations", pbkdf2(600000));
+        for (Map.Entry<String, PasswordEncoder> setting : settings.entrySet()) {
+            LOG.info(
+                "Password checks per second with {}, on {} threads: {}",
+                setting.getKey(),
+                THREADS,
+                Math.round(hashesPerSecond(setting.getValue()))
+            );
+        }
+    }
+
+    private double hashesPerSecond(PasswordEncoder passwordEncoder) throws Exception {
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        ExecutorService logins = Executors.newFixedThreadPool(LOGINS);
+        try (BoundedPasswordEncoder boundedPasswordEncoder = new BoundedPasswordEncoder(passwordEncoder, THREADS, HASHES)) {
+            long start = System.nanoTime();
+            List<Future<Boolean>> checks = new ArrayList<>();
+            for (int i = 0; i < HASHES; i++) {
+                checks.add(logins.submit(() -> boundedPasswordEncoder.matches(PASSWORD, encodedPassword)));
+            }
+            for (Future<Boolean> check : checks) {
+                assertThat(check.get()).isTrue();
+            }
+            return HASHES / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            logins.shutdown();
+        }
+    }
+
+    private static PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations, SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+}
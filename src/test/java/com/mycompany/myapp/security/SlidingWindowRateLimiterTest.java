@@ -0,0 +1,100 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
+
+    @Test
+    void shouldAllowLimitPerKeyAndWindow() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW, 1024, clock);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("alice")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("alice")).isFalse();
+        assertThat(limiter.tryAcquire("bob")).isTrue();
+    }
+
+    @Test
+    void shouldSlideWindow() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, WINDOW, 1024, clock);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("alice");
+        }
+
+        // A quarter into the next window, three quarters of the previous count are still within the sliding window
+        now = now.plus(WINDOW).plus(WINDOW.dividedBy(4));
+        assertThat(limiter.tryAcquire("alice")).isTrue();
+        assertThat(limiter.tryAcquire("alice")).isFalse();
+
+        now = now.plus(WINDOW.dividedBy(2));
+        assertThat(limiter.tryAcquire("alice")).isTrue();
+
+        now = now.plus(WINDOW.multipliedBy(2));
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("alice")).isTrue();
+        }
+    }
+
+    @Test
+    void shouldNotAllowMoreThanLimitToConcurrentCallers() throws Exception {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1000, WINDOW, 1024, clock);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                callers.add(
+                    executor.submit(() -> {
+                        for (int j = 0; j < 500; j++) {
+                            if (limiter.tryAcquire("alice")) {
+                                allowed.incrementAndGet();
+                            }
+                        }
+                    })
+                );
+            }
+            for (Future<?> caller : callers) {
+                caller.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(allowed).hasValue(1000);
+    }
+}
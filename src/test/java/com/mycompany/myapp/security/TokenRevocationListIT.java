@@ -0,0 +1,72 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.RevokedToken;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link TokenRevocationList}.
+ */
+@IntegrationTest
+class TokenRevocationListIT {
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @AfterEach
+    void cleanup() {
+        revokedTokenRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRevokeToken() {
+        String jti = UUID.randomUUID().toString();
+
+        tokenRevocationList.revoke(jti, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        assertThat(tokenRevocationList.isRevoked(jti)).isTrue();
+        assertThat(tokenRevocationList.isRevoked(UUID.randomUUID().toString())).isFalse();
+        tokenRevocationList.compact();
+        assertThat(tokenRevocationList.isRevoked(jti)).isTrue();
+        assertThat(tokenRevocationList.isRevoked(UUID.randomUUID().toString())).isFalse();
+    }
+
+    @Test
+    void shouldSyncTokensRevokedByOtherInstances() {
+        tokenRevocationList.compact();
+        String jti = UUID.randomUUID().toString();
+        revokedTokenRepository.save(
+            new RevokedToken().jti(jti).expiresAt(Instant.now().plus(1, ChronoUnit.HOURS)).revokedAt(Instant.now())
+        );
+
+        // Not in the filter until the next synchronization
+        assertThat(tokenRevocationList.isRevoked(jti)).isFalse();
+        tokenRevocationList.sync();
+        assertThat(tokenRevocationList.isRevoked(jti)).isTrue();
+    }
+
+    @Test
+    void shouldForgetExpiredTokensOnCompaction() {
+        String expiredJti = UUID.randomUUID().toString();
+        String jti = UUID.randomUUID().toString();
+        tokenRevocationList.revoke(expiredJti, Instant.now().minus(1, ChronoUnit.MINUTES));
+        tokenRevocationList.revoke(jti, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        tokenRevocationList.compact();
+
+        assertThat(revokedTokenRepository.existsById(expiredJti)).isFalse();
+        assertThat(tokenRevocationList.isRevoked(expiredJti)).isFalse();
+        assertThat(tokenRevocationList.isRevoked(jti)).isTrue();
+    }
+}
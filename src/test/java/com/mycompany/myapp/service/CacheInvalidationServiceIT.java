@@ -0,0 +1,111 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.EntityA;
+import com.mycompany.myapp.repository.EntityARepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link CacheInvalidationService}, with a peer node played by the test.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+class CacheInvalidationServiceIT {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int PORT = freePort();
+
+    private static DatagramChannel peer;
+
+    @Autowired
+    private EntityARepository entityARepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityA entityA;
+
+    @DynamicPropertySource
+    static void invalidationProperties(DynamicPropertyRegistry registry) throws IOException {
+        peer = DatagramChannel.open().bind(new InetSocketAddress("localhost", 0));
+        peer.configureBlocking(false);
+        registry.add("application.cache.invalidation.port", () -> PORT);
+        registry.add("application.cache.invalidation.bind-address", () -> "localhost");
+        registry.add("application.cache.invalidation.members[0]", () -> "localhost:" + peer.socket().getLocalPort());
+        registry.add("application.cache.invalidation.flush-interval-ms", () -> 5);
+    }
+
+    @AfterAll
+    static void closePeer() throws IOException {
+        peer.close();
+    }
+
+    @BeforeEach
+    void createEntity() {
+        entityA = entityARepository.save(new EntityA().name("invalidation"));
+        entityARepository.findById(entityA.getId());
+    }
+
+    @AfterEach
+    void cleanup() {
+        entityARepository.deleteById(entityA.getId());
+    }
+
+    @Test
+    void shouldBroadcastEvictionOfUpdatedEntity() throws IOException {
+        while (peer.receive(ByteBuffer.allocate(CacheInvalidationService.MAX_DATAGRAM_SIZE)) != null) {
+            // Drop the evictions sent before the update
+        }
+
+        entityARepository.save(entityA.name("invalidation-updated"));
+
+        String eviction = "E\t" + EntityA.class.getName() + "\tL" + entityA.getId();
+        StringBuilder received = new StringBuilder();
+        await()
+            .atMost(TIMEOUT)
+            .until(() -> {
+                ByteBuffer buffer = ByteBuffer.allocate(CacheInvalidationService.MAX_DATAGRAM_SIZE);
+                if (peer.receive(buffer) != null) {
+                    received.append(StandardCharsets.UTF_8.decode(buffer.flip()));
+                }
+                return received.toString().contains(eviction);
+            });
+    }
+
+    @Test
+    void shouldEvictEntityOnEvictionFromPeer() throws IOException {
+        assertThat(entityManagerFactory.getCache().contains(EntityA.class, entityA.getId())).isTrue();
+
+        String datagram = "peer\nE\t" + EntityA.class.getName() + "\tL" + entityA.getId() + "\n";
+        peer.send(StandardCharsets.UTF_8.encode(datagram), new InetSocketAddress("localhost", PORT));
+
+        await().atMost(TIMEOUT).until(() -> !entityManagerFactory.getCache().contains(EntityA.class, entityA.getId()));
+    }
+
+    private static int freePort() {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class CacheInvalidationServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final CacheManager firstCacheManager = new ConcurrentMapCacheManager("users");
+
+    private final CacheManager secondCacheManager = new ConcurrentMapCacheManager("users");
+
+    private CacheInvalidationService first;
+
+    private CacheInvalidationService second;
+
+    private int secondPort;
+
+    @BeforeEach
+    void startNodes() throws IOException {
+        int firstPort = freePort();
+        secondPort = freePort();
+        List<String> members = List.of("localhost:" + firstPort, "localhost:" + secondPort);
+        first = new CacheInvalidationService(applicationProperties(firstPort, members), firstCacheManager);
+        second = new CacheInvalidationService(applicationProperties(secondPort, members), secondCacheManager);
+        first.start();
+        second.start();
+    }
+
+    @AfterEach
+    void stopNodes() throws IOException {
+        first.stop();
+        second.stop();
+    }
+
+    @Test
+    void evictsEntryOnEveryNode() {
+        firstCacheManager.getCache("users").put("alice", "first");
+        secondCacheManager.getCache("users").put("alice", "second");
+        secondCacheManager.getCache("users").put("bob", "second");
+
+        first.evict("users", "alice");
+
+        assertThat(firstCacheManager.getCache("users").get("alice")).isNull();
+        await().atMost(TIMEOUT).until(() -> secondCacheManager.getCache("users").get("alice") == null);
+        assertThat(secondCacheManager.getCache("users").get("bob")).isNotNull();
+    }
+
+    @Test
+    void evictsEntryOnOtherNodesOnceTransactionCommits() {
+        Cache cache = secondCacheManager.getCache("users");
+        cache.put("alice", "second");
+        cache.put("bob", "second");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            first.evict("users", "alice");
+            first.evict("users", "bob");
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(2);
+            // Only the eviction of bob commits
+            synchronizations.get(1).afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        await().atMost(TIMEOUT).until(() -> cache.get("bob") == null);
+        assertThat(cache.get("alice")).isNotNull();
+    }
+
+    @Test
+    void splitsLargeBatchesIntoSeveralDatagrams() {
+        Cache cache = secondCacheManager.getCache("users");
+        List<String> keys = IntStream.range(0, 2000).mapToObj(i -> "user-with-a-rather-long-login-" + i).toList();
+        keys.forEach(key -> cache.put(key, key));
+
+        keys.forEach(key -> first.evict("users", key));
+
+        await().atMost(TIMEOUT).until(() -> keys.stream().allMatch(key -> cache.get(key) == null));
+    }
+
+    @Test
+    void clearsCacheWhenKeyCannotBeEncoded() {
+        Cache cache = secondCacheManager.getCache("users");
+        cache.put(42, "answer");
+        cache.put("alice", "second");
+
+        first.evict("users", 42);
+
+        await().atMost(TIMEOUT).until(() -> cache.get("alice") == null && cache.get(42) == null);
+    }
+
+    @Test
+    void dropsEvictionsFromNonMembers() throws IOException {
+        Cache cache = secondCacheManager.getCache("users");
+        cache.put("alice", "second");
+        cache.put("bob", "second");
+
+        try (DatagramChannel stranger = DatagramChannel.open().bind(new InetSocketAddress("localhost", 0))) {
+            String datagram = "stranger\nK\tusers\tSalice\n";
+            stranger.send(StandardCharsets.UTF_8.encode(datagram), new InetSocketAddress("localhost", secondPort));
+        }
+        first.evict("users", "bob");
+
+        await().atMost(TIMEOUT).until(() -> cache.get("bob") == null);
+        assertThat(cache.get("alice")).isNotNull();
+    }
+
+    private static ApplicationProperties applicationProperties(int port, List<String> members) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Cache.Invalidation invalidation = applicationProperties.getCache().getInvalidation();
+        invalidation.setPort(port);
+        invalidation.setBindAddress("localhost");
+        invalidation.setMembers(members);
+        invalidation.setFlushIntervalMs(5);
+        return applicationProperties;
+    }
+
+    private static int freePort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.EntityA;
+import com.mycompany.myapp.repository.EntityARepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "application.cache.regions[com.mycompany.myapp.domain.EntityA].warm-up-size=2",
+        "application.cache.warm-up.batch-size=1",
+        "application.cache.warm-up.snapshot-path=" + CacheWarmUpServiceIT.SNAPSHOT_PATH,
+    }
+)
+class CacheWarmUpServiceIT {
+
+    static final String SNAPSHOT_PATH = "target/cache-warm-up-snapshot.properties";
+
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+
+    @Autowired
+    private EntityARepository entityARepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void createEntities() throws IOException {
+        Files.deleteIfExists(Path.of(SNAPSHOT_PATH));
+        for (int i = 0; i < 3; i++) {
+            ids.add(entityARepository.save(new EntityA().name("warm-up-" + i)).getId());
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        entityARepository.deleteAllById(ids);
+        Files.deleteIfExists(Path.of(SNAPSHOT_PATH));
+    }
+
+    @Test
+    void shouldWarmUpMostRecentEntities() {
+        assertThat(cacheWarmUpService.warmUp()).isEqualTo(2);
+
+        assertThat(entityManagerFactory.getCache().contains(EntityA.class, ids.get(0))).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(EntityA.class, ids.get(1))).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(EntityA.class, ids.get(2))).isTrue();
+    }
+
+    @Test
+    void shouldWarmUpEntitiesOfSnapshot() {
+        entityARepository.findById(ids.get(0));
+        cacheWarmUpService.saveSnapshot();
+        entityManagerFactory.getCache().evictAll();
+
+        assertThat(cacheWarmUpService.warmUp()).isEqualTo(1);
+
+        assertThat(entityManagerFactory.getCache().contains(EntityA.class, ids.get(0))).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(EntityA.class, ids.get(2))).isFalse();
+    }
+}
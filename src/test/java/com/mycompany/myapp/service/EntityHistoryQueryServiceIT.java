@@ -0,0 +1,54 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.EntityHistory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.hibernate.query.sqm.ComparisonOperator;
+import org.hibernate.query.sqm.tree.domain.SqmPath;
+import org.hibernate.query.sqm.tree.predicate.SqmComparisonPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmJunctionPredicate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link EntityHistoryQueryService}.
+ */
+@IntegrationTest
+class EntityHistoryQueryServiceIT {
+
+    @Autowired
+    private EntityHistoryQueryService entityHistoryQueryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void keysetPredicateStartsWithLowerBoundOnCreationDate() {
+        ZonedDateTime creationDate = ZonedDateTime.of(2025, 1, 28, 0, 0, 0, 0, ZoneOffset.UTC);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EntityHistory> query = builder.createQuery(EntityHistory.class);
+        Root<EntityHistory> root = query.from(EntityHistory.class);
+
+        Predicate predicate = entityHistoryQueryService.after(creationDate, 42L).toPredicate(root, query, builder);
+
+        // A conjunction of a plain bound, usable as the start of an index range and to prune partitions, and the keyset
+        assertThat(predicate).isInstanceOf(SqmJunctionPredicate.class);
+        SqmJunctionPredicate junction = (SqmJunctionPredicate) predicate;
+        assertThat(junction.getOperator()).isEqualTo(Predicate.BooleanOperator.AND);
+        assertThat(junction.getPredicates()).hasSize(2);
+        assertThat(junction.getPredicates().get(0)).isInstanceOf(SqmComparisonPredicate.class);
+        SqmComparisonPredicate bound = (SqmComparisonPredicate) junction.getPredicates().get(0);
+        assertThat(bound.getSqmOperator()).isEqualTo(ComparisonOperator.GREATER_THAN_OR_EQUAL);
+        assertThat(((SqmPath<?>) bound.getLeftHandExpression()).getNavigablePath().getLocalName()).isEqualTo("creationDate");
+        assertThat(junction.getPredicates().get(1)).isInstanceOf(SqmJunctionPredicate.class);
+        assertThat(((SqmJunctionPredicate) junction.getPredicates().get(1)).getOperator()).isEqualTo(Predicate.BooleanOperator.OR);
+    }
+}
@@ -0,0 +1,182 @@
+package com.mycompany.myapp.service.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.enumeration.Action;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class ChangeEventBusTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ChangeEventBus bus;
+
+    @AfterEach
+    void stopBus() {
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void deliversEveryChangeToEverySinkInOrder() {
+        RecordingSink first = new RecordingSink("first", ChangeEventSink.BackPressurePolicy.DROP);
+        RecordingSink second = new RecordingSink("second", ChangeEventSink.BackPressurePolicy.BLOCK);
+        startBus(10, first, second);
+        first.open();
+        second.open();
+
+        bus.publish(events(1, 5));
+
+        await().atMost(TIMEOUT).until(() -> first.receivedIds().size() == 5 && second.receivedIds().size() == 5);
+        assertThat(first.receivedIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(second.receivedIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(meterRegistry.get("change.events.delivered").tag("sink", "first").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    void dropsChangesWhenTheBacklogIsFull() throws InterruptedException {
+        RecordingSink sink = new RecordingSink("dropping", ChangeEventSink.BackPressurePolicy.DROP);
+        startBus(2, sink);
+        bus.publish(events(1, 1));
+        sink.awaitDelivering();
+
+        bus.publish(events(2, 5));
+        sink.open();
+
+        await().atMost(TIMEOUT).until(() -> gauge("change.events.lag", "dropping") == 0);
+        assertThat(sink.receivedIds()).containsExactly(1L, 2L, 3L);
+        assertThat(meterRegistry.get("change.events.dropped").tag("sink", "dropping").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void spillsChangesWhenTheBacklogIsFull() throws InterruptedException {
+        RecordingSink sink = new RecordingSink("spilling", ChangeEventSink.BackPressurePolicy.SPILL);
+        startBus(2, sink);
+        bus.publish(events(1, 1));
+        sink.awaitDelivering();
+
+        bus.publish(events(2, 10));
+        assertThat(gauge("change.events.lag", "spilling")).isEqualTo(10);
+        assertThat(gauge("change.events.backlog", "spilling")).isEqualTo(2);
+        sink.open();
+
+        await().atMost(TIMEOUT).until(() -> sink.receivedIds().size() == 10);
+        assertThat(sink.receivedIds()).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(meterRegistry.get("change.events.spilled").tag("sink", "spilling").counter().count()).isEqualTo(7);
+        assertThat(sink.received.get(9).state()).containsEntry("name", "name 10");
+    }
+
+    @Test
+    void keepsDeliveringAfterAFailure() {
+        RecordingSink sink = new RecordingSink("failing", ChangeEventSink.BackPressurePolicy.DROP) {
+            @Override
+            public void accept(ChangeEvent event) {
+                if (event.id() == 1L) {
+                    throw new IllegalStateException("boom");
+                }
+                super.accept(event);
+            }
+        };
+        startBus(10, sink);
+        sink.open();
+
+        bus.publish(events(1, 2));
+
+        await().atMost(TIMEOUT).until(() -> sink.receivedIds().size() == 1);
+        assertThat(sink.receivedIds()).containsExactly(2L);
+        assertThat(meterRegistry.get("change.events.failed").tag("sink", "failing").counter().count()).isEqualTo(1);
+    }
+
+    private void startBus(int backlogSize, ChangeEventSink... sinks) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getEntityHistory().setSinkBacklogSize(backlogSize);
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ChangeEventSink> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenReturn(Stream.of(sinks));
+        bus = new ChangeEventBus(provider, applicationProperties, new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+        bus.start();
+    }
+
+    private double gauge(String name, String sink) {
+        return meterRegistry.get(name).tag("sink", sink).gauge().value();
+    }
+
+    private static List<ChangeEvent> events(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+            .mapToObj(id -> new ChangeEvent(id, "EntityA", 1L, Action.UPDATE, "user", ZonedDateTime.now(), Map.of("name", "name " + id)))
+            .toList();
+    }
+
+    private static class RecordingSink implements ChangeEventSink {
+
+        private final String name;
+
+        private final BackPressurePolicy policy;
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        private final CountDownLatch delivering = new CountDownLatch(1);
+
+        final List<ChangeEvent> received = new CopyOnWriteArrayList<>();
+
+        RecordingSink(String name, BackPressurePolicy policy) {
+            this.name = name;
+            this.policy = policy;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public BackPressurePolicy getBackPressurePolicy() {
+            return policy;
+        }
+
+        @Override
+        public void accept(ChangeEvent event) {
+            delivering.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        void awaitDelivering() throws InterruptedException {
+            assertThat(delivering.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+        }
+
+        List<Long> receivedIds() {
+            return received.stream().map(ChangeEvent::id).toList();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.service.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.mycompany.myapp.domain.enumeration.Action;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+class ChangeStreamServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final ChangeStreamService changeStreamService = new ChangeStreamService(null, null, null, new SyncTaskExecutor());
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void stop() {
+        unblock.countDown();
+        changeStreamService.stop();
+    }
+
+    @Test
+    void slowSubscriberDelaysNoOtherAndIsEndedWhenItsQueueIsFull() {
+        List<Long> fastReceived = new CopyOnWriteArrayList<>();
+        AtomicBoolean fastEnded = new AtomicBoolean();
+        changeStreamService.subscribe("EntityB", null, event -> fastReceived.add(event.id()), () -> fastEnded.set(true));
+        AtomicBoolean slowEnded = new AtomicBoolean();
+        changeStreamService.subscribe(null, null, event -> awaitUnblock(), () -> slowEnded.set(true));
+
+        int changes = ChangeStreamService.MAX_QUEUED_CHANGES + 10;
+        for (long id = 1; id <= changes; id++) {
+            changeStreamService.accept(changeEvent(id));
+        }
+
+        assertThat(slowEnded).isTrue();
+        await().atMost(TIMEOUT).until(() -> fastReceived.size() == changes / 1000);
+        assertThat(fastReceived).isSorted();
+        assertThat(fastEnded).isFalse();
+    }
+
+    @Test
+    void spillsRatherThanDropsItsBacklog() {
+        assertThat(changeStreamService.getBackPressurePolicy()).isEqualTo(ChangeEventSink.BackPressurePolicy.SPILL);
+    }
+
+    private void awaitUnblock() {
+        try {
+            unblock.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ChangeEvent changeEvent(long id) {
+        String entityName = id % 1000 == 0 ? "EntityB" : "EntityA";
+        return new ChangeEvent(id, entityName, 1L, Action.UPDATE, "user", ZonedDateTime.now(), Map.of("id", 1));
+    }
+}
@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.EntityHistory;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class EntityHistoryCompressorTest {
+
+    private static final byte[] CONTENT = (
+        "{\"id\":1051,\"name\":\"rejoin microchip begonia\",\"title\":\"till darn hexagon\",\"description\":null}"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void compressesWithDictionaryByDefault() {
+        EntityHistory entityHistory = createEntity(CONTENT);
+
+        compressor(new ApplicationProperties()).compress(entityHistory);
+
+        assertThat(entityHistory.getContentContentType()).isEqualTo("application/json;codec=deflate-dict-v1");
+        assertThat(entityHistory.getContent()).hasSizeLessThan(CONTENT.length);
+    }
+
+    @Test
+    void decompressesEveryKnownCodec() {
+        for (String codec : new String[] { DeflateEntityHistoryCodec.DEFLATE, DeflateEntityHistoryCodec.DEFLATE_DICTIONARY_V1 }) {
+            ApplicationProperties applicationProperties = new ApplicationProperties();
+            applicationProperties.getEntityHistory().setCodec(codec);
+            EntityHistoryCompressor compressor = compressor(applicationProperties);
+            EntityHistory entityHistory = createEntity(CONTENT);
+            compressor.compress(entityHistory);
+
+            EntityHistory decompressed = compressor(new ApplicationProperties()).decompress(entityHistory);
+
+            assertThat(decompressed).isNotSameAs(entityHistory);
+            assertThat(decompressed.getId()).isEqualTo(entityHistory.getId());
+            assertThat(decompressed.getContent()).isEqualTo(CONTENT);
+            assertThat(decompressed.getContentContentType()).isEqualTo("application/json");
+        }
+    }
+
+    @Test
+    void leavesSmallContentUncompressed() {
+        EntityHistory entityHistory = createEntity("{}".getBytes(StandardCharsets.UTF_8));
+
+        compressor(new ApplicationProperties()).compress(entityHistory);
+
+        assertThat(entityHistory.getContentContentType()).isEqualTo("application/json");
+    }
+
+    @Test
+    void leavesContentUncompressedWithoutCodec() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getEntityHistory().setCodec(EntityHistoryCompressor.NO_CODEC);
+        EntityHistory entityHistory = createEntity(CONTENT);
+
+        compressor(applicationProperties).compress(entityHistory);
+
+        assertThat(entityHistory.getContent()).isEqualTo(CONTENT);
+        assertThat(entityHistory.getContentContentType()).isEqualTo("application/json");
+    }
+
+    @Test
+    void returnsUncompressedEntityAsIs() {
+        EntityHistory entityHistory = createEntity(CONTENT);
+
+        assertThat(compressor(new ApplicationProperties()).decompress(entityHistory)).isSameAs(entityHistory);
+    }
+
+    @Test
+    void rejectsUnknownCodec() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getEntityHistory().setCodec("unknown");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> compressor(applicationProperties));
+    }
+
+    private static EntityHistory createEntity(byte[] content) {
+        return new EntityHistory().id(1L).content(content).contentContentType("application/json");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EntityHistoryCompressor compressor(ApplicationProperties applicationProperties) {
+        ObjectProvider<EntityHistoryCodec> additionalCodecs = mock(ObjectProvider.class);
+        when(additionalCodecs.orderedStream()).thenReturn(Stream.empty());
+        return new EntityHistoryCompressor(applicationProperties, additionalCodecs);
+    }
+}
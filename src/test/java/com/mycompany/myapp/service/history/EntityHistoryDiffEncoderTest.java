@@ -0,0 +1,88 @@
+package com.mycompany.myapp.service.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.domain.enumeration.Action;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EntityHistoryDiffEncoderTest {
+
+    private static final Map<String, Object> STATE = new LinkedHashMap<>(Map.of("id", 1L, "name", "name", "title", "title"));
+
+    private static final Map<String, Object> CHANGES = Map.of("title", "title");
+
+    private ObjectMapper objectMapper;
+
+    private EntityHistoryDiffEncoder entityHistoryDiffEncoder;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getEntityHistory().setCheckpointInterval(3);
+        objectMapper = new ObjectMapper();
+        entityHistoryDiffEncoder = new EntityHistoryDiffEncoder(objectMapper, applicationProperties);
+    }
+
+    @Test
+    void encodesCreationAsSnapshot() throws Exception {
+        EntityHistory entityHistory = encode(Action.CREATE, null);
+
+        assertThat(entityHistory.getContentContentType()).isEqualTo(EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE);
+        assertThat(objectMapper.readTree(entityHistory.getContent())).isEqualTo(
+            objectMapper.readTree(objectMapper.writeValueAsBytes(STATE))
+        );
+    }
+
+    @Test
+    void encodesUpdatesAsMergePatchUntilCheckpoint() throws Exception {
+        encode(Action.CREATE, null);
+
+        EntityHistory firstUpdate = encode(Action.UPDATE, CHANGES);
+        EntityHistory secondUpdate = encode(Action.UPDATE, CHANGES);
+        EntityHistory checkpoint = encode(Action.UPDATE, CHANGES);
+        EntityHistory afterCheckpoint = encode(Action.UPDATE, CHANGES);
+
+        assertThat(firstUpdate.getContentContentType()).isEqualTo(EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE);
+        assertThat(objectMapper.readTree(firstUpdate.getContent())).isEqualTo(objectMapper.valueToTree(CHANGES));
+        assertThat(secondUpdate.getContentContentType()).isEqualTo(EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE);
+        assertThat(checkpoint.getContentContentType()).isEqualTo(EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE);
+        assertThat(afterCheckpoint.getContentContentType()).isEqualTo(EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE);
+    }
+
+    @Test
+    void encodesUntrackedUpdateAsSnapshot() {
+        EntityHistory entityHistory = encode(Action.UPDATE, CHANGES);
+
+        assertThat(entityHistory.getContentContentType()).isEqualTo(EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE);
+    }
+
+    @Test
+    void encodesUpdateWithUnknownChangesAsSnapshot() {
+        encode(Action.CREATE, null);
+
+        EntityHistory entityHistory = encode(Action.UPDATE, null);
+
+        assertThat(entityHistory.getContentContentType()).isEqualTo(EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE);
+    }
+
+    @Test
+    void encodesDeletionAsSnapshot() {
+        encode(Action.CREATE, null);
+
+        EntityHistory entityHistory = encode(Action.DELETE, null);
+
+        assertThat(entityHistory.getContentContentType()).isEqualTo(EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE);
+    }
+
+    private EntityHistory encode(Action action, Map<String, Object> changes) {
+        EntityHistory entityHistory = new EntityHistory().entityName("EntityA").entityId(1L).actionType(action);
+        entityHistoryDiffEncoder.encode(entityHistory, STATE, changes);
+        return entityHistory;
+    }
+}
@@ -0,0 +1,117 @@
+package com.mycompany.myapp.service.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.EntityA;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.domain.enumeration.Action;
+import com.mycompany.myapp.repository.EntityARepository;
+import com.mycompany.myapp.repository.EntityHistoryOutboxRepository;
+import com.mycompany.myapp.repository.EntityHistoryRepository;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link EntityHistoryEventListener} and {@link EntityHistoryOutboxRelay}.
+ * <p>
+ * These tests are not transactional, as the outbox is only written when changes are committed.
+ */
+@IntegrationTest
+class EntityHistoryEventListenerIT {
+
+    private static final String ENTITY_NAME = "EntityA";
+
+    @Autowired
+    private EntityARepository entityARepository;
+
+    @Autowired
+    private EntityHistoryRepository entityHistoryRepository;
+
+    @Autowired
+    private EntityHistoryOutboxRepository entityHistoryOutboxRepository;
+
+    @Autowired
+    private EntityHistoryOutboxRelay entityHistoryOutboxRelay;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityHistoryCompressor entityHistoryCompressor;
+
+    @Autowired
+    private ObjectMapper om;
+
+    private EntityA entityA;
+
+    @AfterEach
+    public void cleanup() {
+        if (entityA != null) {
+            entityARepository.findById(entityA.getId()).ifPresent(entityARepository::delete);
+            entityHistoryOutboxRelay.relay();
+            entityHistoryRepository.deleteAll(
+                entityHistoryRepository.findAllByEntityNameAndEntityIdOrderByIdAsc(ENTITY_NAME, entityA.getId())
+            );
+            entityA = null;
+        }
+    }
+
+    @Test
+    void recordsCommittedChanges() throws Exception {
+        entityA = entityARepository.save(new EntityA().name("name").title("title"));
+        assertThat(entityHistoryOutboxRepository.findAll()).anyMatch(change -> change.getEntityId().equals(entityA.getId()));
+        entityHistoryOutboxRelay.relay();
+        assertThat(lastAction(entityA.getId())).isEqualTo(Action.CREATE);
+
+        entityARepository.save(entityA.title("new title"));
+        entityHistoryOutboxRelay.relay();
+        assertThat(lastAction(entityA.getId())).isEqualTo(Action.UPDATE);
+        assertThat(entityHistoryOutboxRepository.count()).isZero();
+
+        List<EntityHistory> histories = entityHistoryRepository
+            .findAllByEntityNameAndEntityIdOrderByIdAsc(ENTITY_NAME, entityA.getId())
+            .stream()
+            .map(entityHistoryCompressor::decompress)
+            .toList();
+        assertThat(histories).hasSize(2);
+        EntityHistory creation = histories.get(0);
+        assertThat(creation.getUserLogin()).isEqualTo(Constants.SYSTEM);
+        assertThat(creation.getContentContentType()).isEqualTo(EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE);
+        assertThat(creation.getCreationDate()).isNotNull();
+        JsonNode snapshot = om.readTree(creation.getContent());
+        assertThat(snapshot.get("id").asLong()).isEqualTo(entityA.getId());
+        assertThat(snapshot.get("name").asText()).isEqualTo("name");
+        assertThat(snapshot.get("title").asText()).isEqualTo("title");
+
+        EntityHistory update = histories.get(1);
+        assertThat(update.getContentContentType()).isEqualTo(EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE);
+        JsonNode patch = om.readTree(update.getContent());
+        assertThat(patch.size()).isEqualTo(1);
+        assertThat(patch.get("title").asText()).isEqualTo("new title");
+    }
+
+    @Test
+    void ignoresRolledBackChanges() {
+        long outboxSizeBefore = entityHistoryOutboxRepository.count();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityARepository.saveAndFlush(new EntityA().name("name"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(entityHistoryOutboxRepository.count()).isEqualTo(outboxSizeBefore);
+    }
+
+    private Action lastAction(Long entityId) {
+        List<EntityHistory> histories = entityHistoryRepository.findAllByEntityNameAndEntityIdOrderByIdAsc(ENTITY_NAME, entityId);
+        return histories.isEmpty() ? null : histories.get(histories.size() - 1).getActionType();
+    }
+}
@@ -0,0 +1,155 @@
+package com.mycompany.myapp.service.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.domain.enumeration.Action;
+import com.mycompany.myapp.repository.EntityHistoryPartitionRepository;
+import com.mycompany.myapp.repository.EntityHistoryRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link EntityHistoryPartitionMaintainer}.
+ * <p>
+ * The test database is not partitioned, so these tests cover the retention by deletion.
+ */
+@IntegrationTest
+@Transactional
+class EntityHistoryPartitionMaintainerIT {
+
+    // Not the id of an entity of the other tests, which may leave history behind
+    private static final Long REBASED_ENTITY_ID = 987654321L;
+
+    @Autowired
+    private EntityHistoryPartitionMaintainer entityHistoryPartitionMaintainer;
+
+    @Autowired
+    private EntityHistoryPartitionRepository entityHistoryPartitionRepository;
+
+    @Autowired
+    private EntityHistoryRepository entityHistoryRepository;
+
+    @Autowired
+    private EntityHistoryReconstructor entityHistoryReconstructor;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @AfterEach
+    public void cleanup() {
+        applicationProperties.getEntityHistory().setRetentionMonths(0);
+    }
+
+    @Test
+    void testTableIsNotPartitioned() {
+        assertThat(entityHistoryPartitionRepository.isPartitioned()).isFalse();
+    }
+
+    @Test
+    void keepsHistoryWithoutRetention() {
+        EntityHistory old = entityHistoryRepository.saveAndFlush(createEntityHistory(ZonedDateTime.now(ZoneOffset.UTC).minusYears(5)));
+
+        entityHistoryPartitionMaintainer.maintainPartitions();
+
+        assertThat(entityHistoryRepository.existsById(old.getId())).isTrue();
+    }
+
+    @Test
+    void removesHistoryOlderThanRetention() {
+        applicationProperties.getEntityHistory().setRetentionMonths(12);
+        EntityHistory old = entityHistoryRepository.saveAndFlush(createEntityHistory(ZonedDateTime.now(ZoneOffset.UTC).minusMonths(14)));
+        EntityHistory recent = entityHistoryRepository.saveAndFlush(createEntityHistory(ZonedDateTime.now(ZoneOffset.UTC).minusMonths(11)));
+
+        entityHistoryPartitionMaintainer.maintainPartitions();
+
+        assertThat(entityHistoryRepository.existsById(old.getId())).isFalse();
+        assertThat(entityHistoryRepository.existsById(recent.getId())).isTrue();
+    }
+
+    @Test
+    void rewritesFirstPatchKeptAsSnapshotBeforeRemovingItsSnapshot() {
+        applicationProperties.getEntityHistory().setRetentionMonths(12);
+        // The records stay managed with this creation date, which the database would round to the microsecond
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+        EntityHistory snapshot = entityHistoryRepository.saveAndFlush(
+            createEntityHistory(now.minusMonths(14))
+                .entityId(REBASED_ENTITY_ID)
+                .content("{\"id\":987654321,\"name\":\"AAAAAAAAAA\",\"title\":\"AAAAAAAAAA\"}".getBytes(StandardCharsets.UTF_8))
+        );
+        EntityHistory firstKept = entityHistoryRepository.saveAndFlush(
+            createPatch(now.minusMonths(11), "{\"name\":\"BBBBBBBBBB\"}")
+        );
+        EntityHistory secondKept = entityHistoryRepository.saveAndFlush(
+            createPatch(now.minusMonths(10), "{\"title\":\"CCCCCCCCCC\"}")
+        );
+
+        entityHistoryPartitionMaintainer.maintainPartitions();
+
+        assertThat(entityHistoryRepository.existsById(snapshot.getId())).isFalse();
+        assertThat(entityHistoryRepository.findById(firstKept.getId()))
+            .get()
+            .extracting(EntityHistory::getContentContentType)
+            .asString()
+            .startsWith(EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE);
+        assertThat(entityHistoryRepository.findById(secondKept.getId()))
+            .get()
+            .extracting(EntityHistory::getContentContentType)
+            .isEqualTo(EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE);
+        assertThat(entityHistoryReconstructor.reconstructState(secondKept))
+            .get()
+            .isEqualTo(Map.of("id", 987654321, "name", "BBBBBBBBBB", "title", "CCCCCCCCCC"));
+    }
+
+    @Test
+    void rebasesPatchesReadAfterMoreThanABatchOfPatchesWhichCannotBeRebuilt() {
+        applicationProperties.getEntityHistory().setRetentionMonths(12);
+        // The records stay managed with this creation date, which the database would round to the microsecond
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+        for (long i = 1; i <= 150; i++) {
+            // First records of their entities, without any snapshot to apply them to
+            entityHistoryRepository.save(createPatch(now.minusMonths(11), "{\"name\":\"BBBBBBBBBB\"}").entityId(REBASED_ENTITY_ID + i));
+        }
+        EntityHistory snapshot = entityHistoryRepository.save(
+            createEntityHistory(now.minusMonths(14))
+                .entityId(REBASED_ENTITY_ID)
+                .content("{\"id\":987654321,\"name\":\"AAAAAAAAAA\"}".getBytes(StandardCharsets.UTF_8))
+        );
+        EntityHistory firstKept = entityHistoryRepository.saveAndFlush(createPatch(now.minusMonths(11), "{\"name\":\"BBBBBBBBBB\"}"));
+
+        entityHistoryPartitionMaintainer.maintainPartitions();
+
+        assertThat(entityHistoryRepository.existsById(snapshot.getId())).isFalse();
+        assertThat(entityHistoryReconstructor.reconstructState(entityHistoryRepository.findById(firstKept.getId()).orElseThrow()))
+            .get()
+            .isEqualTo(Map.of("id", 987654321, "name", "BBBBBBBBBB"));
+    }
+
+    private static EntityHistory createPatch(ZonedDateTime creationDate, String patch) {
+        return createEntityHistory(creationDate)
+            .entityId(REBASED_ENTITY_ID)
+            .actionType(Action.UPDATE)
+            .content(patch.getBytes(StandardCharsets.UTF_8))
+            .contentContentType(EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE);
+    }
+
+    private static EntityHistory createEntityHistory(ZonedDateTime creationDate) {
+        return new EntityHistory()
+            .userLogin("user")
+            .entityName("EntityA")
+            .entityId(1L)
+            .actionType(Action.CREATE)
+            .content(new byte[] { '{', '}' })
+            .contentContentType(EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE)
+            .creationDate(creationDate);
+    }
+}
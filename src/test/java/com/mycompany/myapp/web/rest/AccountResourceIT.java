@@ -15,6 +15,7 @@ import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
 import com.mycompany.myapp.service.dto.PasswordChangeDTO;
 import com.mycompany.myapp.web.rest.vm.KeyAndPasswordVM;
+import com.mycompany.myapp.web.rest.vm.LoginVM;
 import com.mycompany.myapp.web.rest.vm.ManagedUserVM;
 import java.time.Instant;
 import java.util.*;
@@ -27,6 +28,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -781,4 +783,35 @@ class AccountResourceIT {
             )
             .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    @Transactional
+    void testLogoutRevokesToken() throws Exception {
+        User user = new User();
+        user.setLogin("logout");
+        user.setEmail("logout@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("logout");
+        login.setPassword("test");
+        String authorization = restAccountMockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.AUTHORIZATION);
+
+        restAccountMockMvc.perform(get("/api/account").header(HttpHeaders.AUTHORIZATION, authorization)).andExpect(status().isOk());
+
+        restAccountMockMvc.perform(post("/api/logout").header(HttpHeaders.AUTHORIZATION, authorization)).andExpect(status().isOk());
+
+        restAccountMockMvc
+            .perform(get("/api/account").header(HttpHeaders.AUTHORIZATION, authorization))
+            .andExpect(status().isUnauthorized());
+
+        userService.deleteUser("logout");
+    }
 }
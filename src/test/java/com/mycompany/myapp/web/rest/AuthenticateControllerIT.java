@@ -1,5 +1,6 @@
 package com.mycompany.myapp.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
@@ -17,9 +18,12 @@ import com.mycompany.myapp.web.rest.vm.LoginVM;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -64,6 +68,56 @@ class AuthenticateControllerIT {
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
+    @Test
+    @Transactional
+    void testAuthorizeUpgradesLegacyPasswordHash() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-legacy-hash");
+        user.setEmail("user-jwt-controller-legacy-hash@example.com");
+        user.setActivated(true);
+        user.setPassword(new BCryptPasswordEncoder(4).encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-legacy-hash");
+        login.setPassword("test");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+            .andExpect(status().isOk());
+
+        String upgradedPassword = userRepository.findOneByLogin("user-jwt-controller-legacy-hash").orElseThrow().getPassword();
+        assertThat(upgradedPassword).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches("test", upgradedPassword)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(upgradedPassword)).isFalse();
+    }
+
+    @Test
+    void testAuthorizeIsThrottledPerUsername() throws Exception {
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-throttled");
+        login.setPassword("wrong password");
+        for (int i = 0; i < 10; i++) {
+            mockMvc
+                .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+                .andExpect(status().isUnauthorized());
+        }
+
+        ResultActions throttled = mockMvc.perform(
+            post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login))
+        );
+        if (throttled.andReturn().getResponse().getStatus() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+            // The attempts crossed the start of a window, so those of the previous window weigh a bit less
+            throttled = mockMvc.perform(
+                post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login))
+            );
+        }
+        throttled
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "60"))
+            .andExpect(jsonPath("$.message").value("error.tooManyLoginAttempts"));
+    }
+
     @Test
     @Transactional
     void testAuthorizeWithRememberMe() throws Exception {
@@ -0,0 +1,137 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.EntityA;
+import com.mycompany.myapp.domain.EntityB;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.domain.enumeration.Action;
+import com.mycompany.myapp.repository.EntityHistoryRepository;
+import com.mycompany.myapp.service.history.ChangeEvent;
+import com.mycompany.myapp.service.history.ChangeStreamService;
+import com.mycompany.myapp.service.history.EntityHistoryDiffEncoder;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ChangeStreamResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ChangeStreamResourceIT {
+
+    private static final String STREAM_API_URL = "/api/changes/stream";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityHistoryRepository entityHistoryRepository;
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    @Autowired
+    private MockMvc restChangeStreamMockMvc;
+
+    @Test
+    @Transactional
+    void streamChangesResumesAfterLastEventId() throws Exception {
+        ZonedDateTime created = ZonedDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS);
+        EntityHistory received = createEntityHistory(
+            EntityA.class.getSimpleName(),
+            Action.CREATE,
+            created,
+            EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE,
+            Map.of("id", 1, "name", "AAAAAAAAAA", "title", "AAAAAAAAAA")
+        );
+        createEntityHistory(
+            EntityB.class.getSimpleName(),
+            Action.CREATE,
+            created.plusSeconds(1),
+            EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE,
+            Map.of("id", 1, "name", "CCCCCCCCCC")
+        );
+        EntityHistory missed = createEntityHistory(
+            EntityA.class.getSimpleName(),
+            Action.UPDATE,
+            created.plusSeconds(2),
+            EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE,
+            Map.of("name", "BBBBBBBBBB")
+        );
+
+        MvcResult result = restChangeStreamMockMvc
+            .perform(
+                get(STREAM_API_URL)
+                    .param("entityName", EntityA.class.getSimpleName())
+                    .header(ChangeStreamResource.LAST_EVENT_ID_HEADER, received.getId())
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+            )
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String stream = result.getResponse().getContentAsString();
+        assertThat(stream)
+            .doesNotContain("id:" + received.getId() + "\n")
+            .contains("id:" + missed.getId() + "\nevent:UPDATE\n")
+            .contains("\"name\":\"BBBBBBBBBB\"", "\"title\":\"AAAAAAAAAA\"")
+            .doesNotContain("CCCCCCCCCC");
+    }
+
+    @Test
+    void streamChangesSendsLiveChanges() throws Exception {
+        MvcResult result = restChangeStreamMockMvc
+            .perform(get(STREAM_API_URL).param("entityName", EntityB.class.getSimpleName()).accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        changeStreamService.accept(changeEvent(-1L, EntityA.class.getSimpleName(), "AAAAAAAAAA"));
+        changeStreamService.accept(changeEvent(-2L, EntityB.class.getSimpleName(), "BBBBBBBBBB"));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> result.getResponse().getContentAsString().contains("\"name\":\"BBBBBBBBBB\""));
+        String stream = result.getResponse().getContentAsString();
+        assertThat(stream).contains("id:-2\nevent:DELETE\n", "\"name\":\"BBBBBBBBBB\"").doesNotContain("AAAAAAAAAA");
+    }
+
+    private static ChangeEvent changeEvent(Long id, String entityName, String name) {
+        return new ChangeEvent(id, entityName, 1L, Action.DELETE, "user", ZonedDateTime.now(), Map.of("id", 1, "name", name));
+    }
+
+    private EntityHistory createEntityHistory(
+        String entityName,
+        Action action,
+        ZonedDateTime creationDate,
+        String contentType,
+        Map<String, Object> content
+    ) throws Exception {
+        return entityHistoryRepository.saveAndFlush(
+            new EntityHistory()
+                .userLogin("user")
+                .entityName(entityName)
+                .entityId(1L)
+                .actionType(action)
+                .content(om.writeValueAsBytes(content))
+                .contentContentType(contentType)
+                .creationDate(creationDate)
+        );
+    }
+}
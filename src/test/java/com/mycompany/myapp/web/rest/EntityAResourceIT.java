@@ -3,15 +3,29 @@ package com.mycompany.myapp.web.rest;
 import static com.mycompany.myapp.domain.EntityAAsserts.*;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.EntityA;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.domain.enumeration.Action;
 import com.mycompany.myapp.repository.EntityARepository;
+import com.mycompany.myapp.repository.EntityHistoryRepository;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
+import com.mycompany.myapp.service.history.EntityHistoryDiffEncoder;
 import jakarta.persistence.EntityManager;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -19,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -43,6 +58,7 @@ class EntityAResourceIT {
 
     private static final String ENTITY_API_URL = "/api/entity-as";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_BATCH = ENTITY_API_URL + "/batch";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -59,6 +75,9 @@ class EntityAResourceIT {
     @Autowired
     private MockMvc restEntityAMockMvc;
 
+    @Autowired
+    private EntityHistoryRepository entityHistoryRepository;
+
     private EntityA entityA;
 
     private EntityA insertedEntityA;
@@ -91,7 +110,7 @@ class EntityAResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedEntityA != null) {
-            entityARepository.delete(insertedEntityA);
+            entityARepository.deleteById(insertedEntityA.getId());
             insertedEntityA = null;
         }
     }
@@ -135,6 +154,146 @@ class EntityAResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void createEntityASInBatch() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        List<Long> ids = new ArrayList<>();
+        try {
+            // Create the EntityAS from a JSON array
+            BulkResultDTO result = om.readValue(
+                restEntityAMockMvc
+                    .perform(
+                        post(ENTITY_API_URL_BATCH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsBytes(List.of(createEntity(), createUpdatedEntity())))
+                    )
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(),
+                BulkResultDTO.class
+            );
+            ids.addAll(result.getIds());
+
+            // Validate the EntityAS in the database
+            assertThat(result.getCount()).isEqualTo(2);
+            assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+            assertThat(entityARepository.findById(ids.get(0)).orElseThrow().getName()).isEqualTo(DEFAULT_NAME);
+            assertThat(entityARepository.findById(ids.get(1)).orElseThrow().getName()).isEqualTo(UPDATED_NAME);
+        } finally {
+            entityARepository.deleteAllById(ids);
+        }
+    }
+
+    @Test
+    void createEntityASInBatchFromNdjson() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        List<Long> ids = new ArrayList<>();
+        try {
+            // Create the EntityAS from newline-delimited JSON
+            String body = om.writeValueAsString(createEntity()) + "\n" + om.writeValueAsString(createUpdatedEntity()) + "\n";
+            BulkResultDTO result = om.readValue(
+                restEntityAMockMvc
+                    .perform(post(ENTITY_API_URL_BATCH).contentType(MediaType.APPLICATION_NDJSON).content(body))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(),
+                BulkResultDTO.class
+            );
+            ids.addAll(result.getIds());
+
+            // Validate the EntityAS in the database
+            assertThat(result.getCount()).isEqualTo(2);
+            assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+        } finally {
+            entityARepository.deleteAllById(ids);
+        }
+    }
+
+    @Test
+    void createEntityASInBatchWithExistingId() throws Exception {
+        // Create the EntityAS with an existing ID
+        entityA.setId(1L);
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        // An entity with an existing ID cannot be created, so this API call must fail
+        restEntityAMockMvc
+            .perform(
+                post(ENTITY_API_URL_BATCH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(createEntity(), entityA)))
+            )
+            .andExpect(status().isBadRequest());
+
+        // Validate that the whole chunk was rolled back
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    void updateEntityASInBatch() throws Exception {
+        // Initialize the database
+        List<EntityA> entityAS = entityARepository.saveAllAndFlush(List.of(createEntity(), createEntity()));
+        try {
+            List<EntityA> updatedEntityAS = entityAS
+                .stream()
+                .map(existing -> createUpdatedEntity().id(existing.getId()))
+                .toList();
+
+            // Update the EntityAS
+            restEntityAMockMvc
+                .perform(put(ENTITY_API_URL_BATCH).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(updatedEntityAS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+
+            // Validate the EntityAS in the database
+            updatedEntityAS.forEach(this::assertPersistedEntityAToMatchAllProperties);
+
+            // An entity which does not exist cannot be updated
+            restEntityAMockMvc
+                .perform(
+                    put(ENTITY_API_URL_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(List.of(createEntity().id(longCount.incrementAndGet()))))
+                )
+                .andExpect(status().isBadRequest());
+
+            // An entity modified since the version it was read in cannot be updated
+            EntityA staleEntityA = createEntity().id(entityAS.get(0).getId()).version(entityAS.get(0).getVersion());
+            restEntityAMockMvc
+                .perform(
+                    put(ENTITY_API_URL_BATCH).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(List.of(staleEntityA)))
+                )
+                .andExpect(status().isBadRequest());
+            assertPersistedEntityAToMatchAllProperties(updatedEntityAS.get(0));
+        } finally {
+            entityARepository.deleteAllById(entityAS.stream().map(EntityA::getId).toList());
+        }
+    }
+
+    @Test
+    void deleteEntityASInBatch() throws Exception {
+        // Initialize the database
+        List<EntityA> entityAS = entityARepository.saveAllAndFlush(List.of(createEntity(), createEntity()));
+        long databaseSizeBeforeDelete = getRepositoryCount();
+        List<Long> ids = entityAS.stream().map(EntityA::getId).toList();
+
+        // Delete the EntityAS, ignoring an id which does not exist
+        restEntityAMockMvc
+            .perform(
+                delete(ENTITY_API_URL_BATCH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(ids.get(0), ids.get(1), longCount.incrementAndGet())))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(2));
+
+        // Validate the database no longer contains them
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeDelete - 2);
+        assertThat(entityARepository.findAllById(ids)).isEmpty();
+    }
+
     @Test
     @Transactional
     void getAllEntityAS() throws Exception {
@@ -169,6 +328,212 @@ class EntityAResourceIT {
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION));
     }
 
+    @Test
+    @Transactional
+    void getEntityANotModified() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+        String eTag = "\"" + entityA.getVersion() + "\"";
+
+        // Get the entityA, then get it again with its ETag
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL_ID, entityA.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL_ID, entityA.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityASPaginated() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+        EntityA other = entityARepository.saveAndFlush(createUpdatedEntity());
+        String filter = "id.in=" + entityA.getId() + "," + other.getId();
+
+        // Get the first page of the entityAList
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&page=0&size=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=1&size=1>; rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(entityA.getId().intValue())));
+
+        // Get the second page of the entityAList
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&page=1&size=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(other.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityASSlice() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+        EntityA other = entityARepository.saveAndFlush(createUpdatedEntity());
+        String filter = "id.in=" + entityA.getId() + "," + other.getId();
+
+        // Get the first slice of the entityAList
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL + "?slice=true&sort=id,asc&page=0&size=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=1&size=1>; rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(entityA.getId().intValue())));
+
+        // Get the last slice of the entityAList
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL + "?slice=true&sort=id,asc&page=1&size=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=0&size=1>; rel=\"prev\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(other.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getEntityASByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+
+        Long id = entityA.getId();
+
+        defaultEntityAFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultEntityAFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultEntityAFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityASByNameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+
+        // Get all the entityAList where name equals to
+        defaultEntityAFiltering("name.equals=" + DEFAULT_NAME, "name.equals=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityASByNameIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+
+        // Get all the entityAList where name in
+        defaultEntityAFiltering("name.in=" + DEFAULT_NAME + "," + UPDATED_NAME, "name.in=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityASByNameIsNullOrNotNull() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+
+        // Get all the entityAList where name is not null
+        defaultEntityAFiltering("name.specified=true", "name.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityASByNameContainsSomething() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+
+        // Get all the entityAList where name contains
+        defaultEntityAFiltering("name.contains=" + DEFAULT_NAME, "name.contains=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityASByNameNotContainsSomething() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+
+        // Get all the entityAList where name does not contain
+        defaultEntityAFiltering("name.doesNotContain=" + UPDATED_NAME, "name.doesNotContain=" + DEFAULT_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityASByTitleIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+
+        // Get all the entityAList where title equals to
+        defaultEntityAFiltering("title.equals=" + DEFAULT_TITLE, "title.equals=" + UPDATED_TITLE);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityASByTitleContainsSomething() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+
+        // Get all the entityAList where title contains
+        defaultEntityAFiltering("title.contains=" + DEFAULT_TITLE, "title.contains=" + UPDATED_TITLE);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityASByTitleNotContainsSomething() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+
+        // Get all the entityAList where title does not contain
+        defaultEntityAFiltering("title.doesNotContain=" + UPDATED_TITLE, "title.doesNotContain=" + DEFAULT_TITLE);
+    }
+
+    private void defaultEntityAFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultEntityAShouldBeFound(shouldBeFound);
+        defaultEntityAShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultEntityAShouldBeFound(String filter) throws Exception {
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(entityA.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
+            .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)));
+
+        // Check, that the count call also returns 1
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultEntityAShouldNotBeFound(String filter) throws Exception {
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingEntityA() throws Exception {
@@ -176,6 +541,40 @@ class EntityAResourceIT {
         restEntityAMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getEntityAAsOf() throws Exception {
+        // Initialize the history of an entityA: a snapshot on creation, then a merge patch
+        long id = longCount.incrementAndGet();
+        ZonedDateTime created = ZonedDateTime.now(ZoneOffset.UTC).minusHours(2).truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime updated = created.plusHours(1);
+        Map<String, Object> snapshot = Map.of("id", id, "name", DEFAULT_NAME, "title", DEFAULT_TITLE, "description", DEFAULT_DESCRIPTION);
+        createEntityHistory(id, Action.CREATE, created, EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE, snapshot);
+        createEntityHistory(id, Action.UPDATE, updated, EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE, Map.of("name", UPDATED_NAME));
+
+        // Get the entityA before it was created
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL_ID, id).param("asOf", created.minusSeconds(1).toString()))
+            .andExpect(status().isNotFound());
+
+        // Get the entityA as created
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL_ID, id).param("asOf", updated.minusSeconds(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(id))
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
+            .andExpect(jsonPath("$.title").value(DEFAULT_TITLE));
+
+        // Get the entityA as updated
+        restEntityAMockMvc
+            .perform(get(ENTITY_API_URL_ID, id).param("asOf", updated.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(id))
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME))
+            .andExpect(jsonPath("$.title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION));
+    }
+
     @Test
     @Transactional
     void putExistingEntityA() throws Exception {
@@ -203,6 +602,63 @@ class EntityAResourceIT {
         assertPersistedEntityAToMatchAllProperties(updatedEntityA);
     }
 
+    @Test
+    @Transactional
+    void putEntityAWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+        long version = entityA.getVersion();
+        String eTag = "\"" + version + "\"";
+
+        // Update the entityA in the version of the ETag
+        EntityA updatedEntityA = createUpdatedEntity().id(entityA.getId());
+        restEntityAMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, entityA.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedEntityA))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+
+        // The entityA was modified since that ETag
+        restEntityAMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, entityA.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(createEntity().id(entityA.getId())))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the EntityA in the database
+        assertPersistedEntityAToMatchAllProperties(updatedEntityA);
+    }
+
+    @Test
+    @Transactional
+    void patchEntityAWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedEntityA = entityARepository.saveAndFlush(entityA);
+        long version = entityA.getVersion();
+
+        // Modify the entityA after it was read
+        entityARepository.saveAndFlush(entityA.title(UPDATED_TITLE));
+
+        EntityA partialUpdatedEntityA = new EntityA().id(entityA.getId()).version(version).name(UPDATED_NAME);
+        restEntityAMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedEntityA.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedEntityA))
+            )
+            .andExpect(status().isConflict());
+
+        // Validate the EntityA in the database
+        assertThat(getPersistedEntityA(entityA).getName()).isEqualTo(DEFAULT_NAME);
+    }
+
     @Test
     @Transactional
     void putNonExistingEntityA() throws Exception {
@@ -403,4 +859,18 @@ class EntityAResourceIT {
     protected void assertPersistedEntityAToMatchUpdatableProperties(EntityA expectedEntityA) {
         assertEntityAAllUpdatablePropertiesEquals(expectedEntityA, getPersistedEntityA(expectedEntityA));
     }
+
+    private void createEntityHistory(long id, Action action, ZonedDateTime creationDate, String contentType, Map<String, Object> content)
+        throws Exception {
+        entityHistoryRepository.saveAndFlush(
+            new EntityHistory()
+                .userLogin("user")
+                .entityName(EntityA.class.getSimpleName())
+                .entityId(id)
+                .actionType(action)
+                .content(om.writeValueAsBytes(content))
+                .contentContentType(contentType)
+                .creationDate(creationDate)
+        );
+    }
 }
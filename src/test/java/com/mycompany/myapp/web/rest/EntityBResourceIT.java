@@ -3,15 +3,29 @@ package com.mycompany.myapp.web.rest;
 import static com.mycompany.myapp.domain.EntityBAsserts.*;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.EntityB;
+import com.mycompany.myapp.domain.EntityHistory;
+import com.mycompany.myapp.domain.enumeration.Action;
 import com.mycompany.myapp.repository.EntityBRepository;
+import com.mycompany.myapp.repository.EntityHistoryRepository;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
+import com.mycompany.myapp.service.history.EntityHistoryDiffEncoder;
 import jakarta.persistence.EntityManager;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -19,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -40,6 +55,7 @@ class EntityBResourceIT {
 
     private static final String ENTITY_API_URL = "/api/entity-bs";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_BATCH = ENTITY_API_URL + "/batch";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -56,6 +72,9 @@ class EntityBResourceIT {
     @Autowired
     private MockMvc restEntityBMockMvc;
 
+    @Autowired
+    private EntityHistoryRepository entityHistoryRepository;
+
     private EntityB entityB;
 
     private EntityB insertedEntityB;
@@ -88,7 +107,7 @@ class EntityBResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedEntityB != null) {
-            entityBRepository.delete(insertedEntityB);
+            entityBRepository.deleteById(insertedEntityB.getId());
             insertedEntityB = null;
         }
     }
@@ -132,6 +151,146 @@ class EntityBResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void createEntityBSInBatch() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        List<Long> ids = new ArrayList<>();
+        try {
+            // Create the EntityBS from a JSON array
+            BulkResultDTO result = om.readValue(
+                restEntityBMockMvc
+                    .perform(
+                        post(ENTITY_API_URL_BATCH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsBytes(List.of(createEntity(), createUpdatedEntity())))
+                    )
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(),
+                BulkResultDTO.class
+            );
+            ids.addAll(result.getIds());
+
+            // Validate the EntityBS in the database
+            assertThat(result.getCount()).isEqualTo(2);
+            assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+            assertThat(entityBRepository.findById(ids.get(0)).orElseThrow().getLastName()).isEqualTo(DEFAULT_LAST_NAME);
+            assertThat(entityBRepository.findById(ids.get(1)).orElseThrow().getLastName()).isEqualTo(UPDATED_LAST_NAME);
+        } finally {
+            entityBRepository.deleteAllById(ids);
+        }
+    }
+
+    @Test
+    void createEntityBSInBatchFromNdjson() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        List<Long> ids = new ArrayList<>();
+        try {
+            // Create the EntityBS from newline-delimited JSON
+            String body = om.writeValueAsString(createEntity()) + "\n" + om.writeValueAsString(createUpdatedEntity()) + "\n";
+            BulkResultDTO result = om.readValue(
+                restEntityBMockMvc
+                    .perform(post(ENTITY_API_URL_BATCH).contentType(MediaType.APPLICATION_NDJSON).content(body))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(),
+                BulkResultDTO.class
+            );
+            ids.addAll(result.getIds());
+
+            // Validate the EntityBS in the database
+            assertThat(result.getCount()).isEqualTo(2);
+            assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+        } finally {
+            entityBRepository.deleteAllById(ids);
+        }
+    }
+
+    @Test
+    void createEntityBSInBatchWithExistingId() throws Exception {
+        // Create the EntityBS with an existing ID
+        entityB.setId(1L);
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        // An entity with an existing ID cannot be created, so this API call must fail
+        restEntityBMockMvc
+            .perform(
+                post(ENTITY_API_URL_BATCH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(createEntity(), entityB)))
+            )
+            .andExpect(status().isBadRequest());
+
+        // Validate that the whole chunk was rolled back
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    void updateEntityBSInBatch() throws Exception {
+        // Initialize the database
+        List<EntityB> entityBS = entityBRepository.saveAllAndFlush(List.of(createEntity(), createEntity()));
+        try {
+            List<EntityB> updatedEntityBS = entityBS
+                .stream()
+                .map(existing -> createUpdatedEntity().id(existing.getId()))
+                .toList();
+
+            // Update the EntityBS
+            restEntityBMockMvc
+                .perform(put(ENTITY_API_URL_BATCH).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(updatedEntityBS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+
+            // Validate the EntityBS in the database
+            updatedEntityBS.forEach(this::assertPersistedEntityBToMatchAllProperties);
+
+            // An entity which does not exist cannot be updated
+            restEntityBMockMvc
+                .perform(
+                    put(ENTITY_API_URL_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(List.of(createEntity().id(longCount.incrementAndGet()))))
+                )
+                .andExpect(status().isBadRequest());
+
+            // An entity modified since the version it was read in cannot be updated
+            EntityB staleEntityB = createEntity().id(entityBS.get(0).getId()).version(entityBS.get(0).getVersion());
+            restEntityBMockMvc
+                .perform(
+                    put(ENTITY_API_URL_BATCH).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(List.of(staleEntityB)))
+                )
+                .andExpect(status().isBadRequest());
+            assertPersistedEntityBToMatchAllProperties(updatedEntityBS.get(0));
+        } finally {
+            entityBRepository.deleteAllById(entityBS.stream().map(EntityB::getId).toList());
+        }
+    }
+
+    @Test
+    void deleteEntityBSInBatch() throws Exception {
+        // Initialize the database
+        List<EntityB> entityBS = entityBRepository.saveAllAndFlush(List.of(createEntity(), createEntity()));
+        long databaseSizeBeforeDelete = getRepositoryCount();
+        List<Long> ids = entityBS.stream().map(EntityB::getId).toList();
+
+        // Delete the EntityBS, ignoring an id which does not exist
+        restEntityBMockMvc
+            .perform(
+                delete(ENTITY_API_URL_BATCH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(ids.get(0), ids.get(1), longCount.incrementAndGet())))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(2));
+
+        // Validate the database no longer contains them
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeDelete - 2);
+        assertThat(entityBRepository.findAllById(ids)).isEmpty();
+    }
+
     @Test
     @Transactional
     void getAllEntityBS() throws Exception {
@@ -164,6 +323,181 @@ class EntityBResourceIT {
             .andExpect(jsonPath("$.lastName").value(DEFAULT_LAST_NAME));
     }
 
+    @Test
+    @Transactional
+    void getEntityBNotModified() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+        String eTag = "\"" + entityB.getVersion() + "\"";
+
+        // Get the entityB, then get it again with its ETag
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL_ID, entityB.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL_ID, entityB.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityBSPaginated() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+        EntityB other = entityBRepository.saveAndFlush(createUpdatedEntity());
+        String filter = "id.in=" + entityB.getId() + "," + other.getId();
+
+        // Get the first page of the entityBList
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&page=0&size=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=1&size=1>; rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(entityB.getId().intValue())));
+
+        // Get the second page of the entityBList
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&page=1&size=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(other.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityBSSlice() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+        EntityB other = entityBRepository.saveAndFlush(createUpdatedEntity());
+        String filter = "id.in=" + entityB.getId() + "," + other.getId();
+
+        // Get the first slice of the entityBList
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL + "?slice=true&sort=id,asc&page=0&size=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=1&size=1>; rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(entityB.getId().intValue())));
+
+        // Get the last slice of the entityBList
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL + "?slice=true&sort=id,asc&page=1&size=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=0&size=1>; rel=\"prev\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(other.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getEntityBSByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+
+        Long id = entityB.getId();
+
+        defaultEntityBFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultEntityBFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultEntityBFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityBSByFirstNameContainsSomething() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+
+        // Get all the entityBList where firstName contains
+        defaultEntityBFiltering("firstName.contains=" + DEFAULT_FIRST_NAME, "firstName.contains=" + UPDATED_FIRST_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityBSByFirstNameNotContainsSomething() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+
+        // Get all the entityBList where firstName does not contain
+        defaultEntityBFiltering("firstName.doesNotContain=" + UPDATED_FIRST_NAME, "firstName.doesNotContain=" + DEFAULT_FIRST_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityBSByLastNameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+
+        // Get all the entityBList where lastName equals to
+        defaultEntityBFiltering("lastName.equals=" + DEFAULT_LAST_NAME, "lastName.equals=" + UPDATED_LAST_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityBSByLastNameIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+
+        // Get all the entityBList where lastName in
+        defaultEntityBFiltering("lastName.in=" + DEFAULT_LAST_NAME + "," + UPDATED_LAST_NAME, "lastName.in=" + UPDATED_LAST_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityBSByLastNameIsNullOrNotNull() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+
+        // Get all the entityBList where lastName is not null
+        defaultEntityBFiltering("lastName.specified=true", "lastName.specified=false");
+    }
+
+    private void defaultEntityBFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultEntityBShouldBeFound(shouldBeFound);
+        defaultEntityBShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultEntityBShouldBeFound(String filter) throws Exception {
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(entityB.getId().intValue())))
+            .andExpect(jsonPath("$.[*].firstName").value(hasItem(DEFAULT_FIRST_NAME)))
+            .andExpect(jsonPath("$.[*].lastName").value(hasItem(DEFAULT_LAST_NAME)));
+
+        // Check, that the count call also returns 1
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultEntityBShouldNotBeFound(String filter) throws Exception {
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingEntityB() throws Exception {
@@ -171,6 +505,32 @@ class EntityBResourceIT {
         restEntityBMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getEntityBAsOf() throws Exception {
+        // Initialize the history of an entityB: a snapshot on creation, a merge patch, then a deletion
+        long id = longCount.incrementAndGet();
+        ZonedDateTime created = ZonedDateTime.now(ZoneOffset.UTC).minusHours(3).truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime updated = created.plusHours(1);
+        ZonedDateTime deleted = updated.plusHours(1);
+        Map<String, Object> snapshot = Map.of("id", id, "firstName", DEFAULT_FIRST_NAME, "lastName", DEFAULT_LAST_NAME);
+        createEntityHistory(id, Action.CREATE, created, EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE, snapshot);
+        Map<String, Object> patch = Map.of("lastName", UPDATED_LAST_NAME);
+        createEntityHistory(id, Action.UPDATE, updated, EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE, patch);
+        createEntityHistory(id, Action.DELETE, deleted, EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE, snapshot);
+
+        // Get the entityB as updated
+        restEntityBMockMvc
+            .perform(get(ENTITY_API_URL_ID, id).param("asOf", deleted.minusSeconds(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(id))
+            .andExpect(jsonPath("$.firstName").value(DEFAULT_FIRST_NAME))
+            .andExpect(jsonPath("$.lastName").value(UPDATED_LAST_NAME));
+
+        // Get the entityB once deleted
+        restEntityBMockMvc.perform(get(ENTITY_API_URL_ID, id).param("asOf", deleted.toString())).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void putExistingEntityB() throws Exception {
@@ -198,6 +558,63 @@ class EntityBResourceIT {
         assertPersistedEntityBToMatchAllProperties(updatedEntityB);
     }
 
+    @Test
+    @Transactional
+    void putEntityBWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+        long version = entityB.getVersion();
+        String eTag = "\"" + version + "\"";
+
+        // Update the entityB in the version of the ETag
+        EntityB updatedEntityB = createUpdatedEntity().id(entityB.getId());
+        restEntityBMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, entityB.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedEntityB))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+
+        // The entityB was modified since that ETag
+        restEntityBMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, entityB.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(createEntity().id(entityB.getId())))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the EntityB in the database
+        assertPersistedEntityBToMatchAllProperties(updatedEntityB);
+    }
+
+    @Test
+    @Transactional
+    void patchEntityBWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedEntityB = entityBRepository.saveAndFlush(entityB);
+        long version = entityB.getVersion();
+
+        // Modify the entityB after it was read
+        entityBRepository.saveAndFlush(entityB.lastName(UPDATED_LAST_NAME));
+
+        EntityB partialUpdatedEntityB = new EntityB().id(entityB.getId()).version(version).firstName(UPDATED_FIRST_NAME);
+        restEntityBMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedEntityB.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedEntityB))
+            )
+            .andExpect(status().isConflict());
+
+        // Validate the EntityB in the database
+        assertThat(getPersistedEntityB(entityB).getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+    }
+
     @Test
     @Transactional
     void putNonExistingEntityB() throws Exception {
@@ -396,4 +813,18 @@ class EntityBResourceIT {
     protected void assertPersistedEntityBToMatchUpdatableProperties(EntityB expectedEntityB) {
         assertEntityBAllUpdatablePropertiesEquals(expectedEntityB, getPersistedEntityB(expectedEntityB));
     }
+
+    private void createEntityHistory(long id, Action action, ZonedDateTime creationDate, String contentType, Map<String, Object> content)
+        throws Exception {
+        entityHistoryRepository.saveAndFlush(
+            new EntityHistory()
+                .userLogin("user")
+                .entityName(EntityB.class.getSimpleName())
+                .entityId(id)
+                .actionType(action)
+                .content(om.writeValueAsBytes(content))
+                .contentContentType(contentType)
+                .creationDate(creationDate)
+        );
+    }
 }
@@ -4,31 +4,46 @@ import static com.mycompany.myapp.domain.EntityHistoryAsserts.*;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.mycompany.myapp.web.rest.TestUtil.sameInstant;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.EntityA;
 import com.mycompany.myapp.domain.EntityHistory;
 import com.mycompany.myapp.domain.enumeration.Action;
 import com.mycompany.myapp.repository.EntityHistoryRepository;
+import com.mycompany.myapp.service.history.EntityHistoryCompressor;
+import com.mycompany.myapp.service.history.EntityHistoryDiffEncoder;
 import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -71,6 +86,9 @@ class EntityHistoryResourceIT {
     @Autowired
     private EntityHistoryRepository entityHistoryRepository;
 
+    @Autowired
+    private EntityHistoryCompressor entityHistoryCompressor;
+
     @Autowired
     private EntityManager em;
 
@@ -123,7 +141,7 @@ class EntityHistoryResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedEntityHistory != null) {
-            entityHistoryRepository.delete(insertedEntityHistory);
+            entityHistoryRepository.deleteById(insertedEntityHistory.getId());
             insertedEntityHistory = null;
         }
     }
@@ -252,6 +270,196 @@ class EntityHistoryResourceIT {
             .andExpect(jsonPath("$.[*].creationDate").value(hasItem(sameInstant(DEFAULT_CREATION_DATE))));
     }
 
+    @Test
+    @Transactional
+    void getEntityHistoriesByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(entityHistory);
+
+        Long id = entityHistory.getId();
+
+        defaultEntityHistoryFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultEntityHistoryFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultEntityHistoryFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityHistoriesByUserLoginIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(entityHistory);
+
+        // Get all the entityHistoryList where userLogin equals to
+        defaultEntityHistoryFiltering("userLogin.equals=" + DEFAULT_USER_LOGIN, "userLogin.equals=" + UPDATED_USER_LOGIN);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityHistoriesByEntityNameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(entityHistory);
+
+        // Get all the entityHistoryList where entityName equals to
+        defaultEntityHistoryFiltering("entityName.equals=" + DEFAULT_ENTITY_NAME, "entityName.equals=" + UPDATED_ENTITY_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityHistoriesByEntityIdIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(entityHistory);
+
+        // Get all the entityHistoryList where entityName and entityId equal to
+        defaultEntityHistoryFiltering(
+            "entityName.equals=" + DEFAULT_ENTITY_NAME + "&entityId.equals=" + DEFAULT_ENTITY_ID,
+            "entityName.equals=" + DEFAULT_ENTITY_NAME + "&entityId.equals=" + UPDATED_ENTITY_ID
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityHistoriesByActionTypeIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(entityHistory);
+
+        // Get all the entityHistoryList where actionType equals to
+        defaultEntityHistoryFiltering(
+            "entityName.equals=" + DEFAULT_ENTITY_NAME + "&actionType.equals=" + DEFAULT_ACTION_TYPE,
+            "entityName.equals=" + DEFAULT_ENTITY_NAME + "&actionType.equals=" + UPDATED_ACTION_TYPE
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityHistoriesByCreationDateIsInRange() throws Exception {
+        // Initialize the database
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(entityHistory);
+
+        // Get all the entityHistoryList where creationDate is in range
+        String lessThanUpdated = "&creationDate.lessThan=" + UPDATED_CREATION_DATE.toInstant();
+        defaultEntityHistoryFiltering(
+            "creationDate.greaterThanOrEqual=" + DEFAULT_CREATION_DATE.toInstant() + lessThanUpdated,
+            "creationDate.greaterThan=" + DEFAULT_CREATION_DATE.toInstant() + lessThanUpdated
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllEntityHistoriesByKeyset() throws Exception {
+        // Initialize the database
+        EntityHistory first = entityHistoryRepository.saveAndFlush(createEntity().entityName(UPDATED_ENTITY_NAME));
+        EntityHistory second = entityHistoryRepository.saveAndFlush(createEntity().entityName(UPDATED_ENTITY_NAME));
+        EntityHistory third = entityHistoryRepository.saveAndFlush(createEntity().entityName(UPDATED_ENTITY_NAME));
+
+        // Get the first page, which links to the next one
+        String next = restEntityHistoryMockMvc
+            .perform(get(ENTITY_API_URL + "?entityName.equals=" + UPDATED_ENTITY_NAME + "&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("afterId=" + second.getId())))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+
+        // Get the last page, which does not link to another one
+        restEntityHistoryMockMvc
+            .perform(get(next.substring(next.indexOf('<') + 1, next.indexOf('>'))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    void exportEntityHistories() throws Exception {
+        // Initialize the database, committing as the export runs on another thread
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(createEntity().entityName(UPDATED_ENTITY_NAME));
+        EntityHistory second = entityHistoryRepository.saveAndFlush(createEntity().entityName(UPDATED_ENTITY_NAME));
+
+        try {
+            // Export the entityHistories
+            MvcResult result = restEntityHistoryMockMvc
+                .perform(get(ENTITY_API_URL + "/export?entityName.equals=" + UPDATED_ENTITY_NAME))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(
+                new ApplicationProperties().getEntityHistory().getExportTimeoutMs()
+            );
+            String export = restEntityHistoryMockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+            String[] lines = export.split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(om.readValue(lines[0], EntityHistory.class).getId()).isEqualTo(insertedEntityHistory.getId());
+            assertThat(om.readValue(lines[1], EntityHistory.class).getId()).isEqualTo(second.getId());
+        } finally {
+            entityHistoryRepository.delete(second);
+        }
+    }
+
+    @Test
+    void exportEntityHistoriesAsGzip() throws Exception {
+        // Initialize the database, committing as the export runs on another thread
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(entityHistory.entityName(UPDATED_ENTITY_NAME));
+
+        // Export the entityHistories
+        MvcResult result = restEntityHistoryMockMvc
+            .perform(get(ENTITY_API_URL + "/export?gzip=true&entityName.equals=" + UPDATED_ENTITY_NAME))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        byte[] export = restEntityHistoryMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("entity-histories.ndjson.gz")))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(export))) {
+            EntityHistory exported = om.readValue(new String(in.readAllBytes(), StandardCharsets.UTF_8).trim(), EntityHistory.class);
+            assertThat(exported.getId()).isEqualTo(entityHistory.getId());
+            assertThat(exported.getContent()).isEqualTo(DEFAULT_CONTENT);
+        }
+    }
+
+    private void defaultEntityHistoryFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultEntityHistoryShouldBeFound(shouldBeFound);
+        defaultEntityHistoryShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultEntityHistoryShouldBeFound(String filter) throws Exception {
+        restEntityHistoryMockMvc
+            .perform(get(ENTITY_API_URL + "?" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(entityHistory.getId().intValue())))
+            .andExpect(jsonPath("$.[*].userLogin").value(hasItem(DEFAULT_USER_LOGIN)))
+            .andExpect(jsonPath("$.[*].entityName").value(hasItem(DEFAULT_ENTITY_NAME)))
+            .andExpect(jsonPath("$.[*].entityId").value(hasItem(DEFAULT_ENTITY_ID.intValue())))
+            .andExpect(jsonPath("$.[*].actionType").value(hasItem(DEFAULT_ACTION_TYPE.toString())))
+            .andExpect(jsonPath("$.[*].creationDate").value(hasItem(sameInstant(DEFAULT_CREATION_DATE))));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultEntityHistoryShouldNotBeFound(String filter) throws Exception {
+        restEntityHistoryMockMvc
+            .perform(get(ENTITY_API_URL + "?" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(entityHistory.getId().intValue()))));
+    }
+
     @Test
     @Transactional
     void getEntityHistory() throws Exception {
@@ -273,6 +481,47 @@ class EntityHistoryResourceIT {
             .andExpect(jsonPath("$.creationDate").value(sameInstant(DEFAULT_CREATION_DATE)));
     }
 
+    @Test
+    @Transactional
+    void getEntityHistoryNotModified() throws Exception {
+        // Initialize the database
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(entityHistory);
+        String eTag = "\"" + entityHistory.getVersion() + "\"";
+
+        // Get the entityHistory, then get it again with its ETag
+        restEntityHistoryMockMvc
+            .perform(get(ENTITY_API_URL_ID, entityHistory.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        restEntityHistoryMockMvc
+            .perform(get(ENTITY_API_URL_ID, entityHistory.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getCompressedEntityHistory() throws Exception {
+        // Initialize the database
+        byte[] content = "{\"id\":1,\"name\":\"name\",\"title\":\"title\",\"description\":\"description\"}".getBytes(
+            StandardCharsets.UTF_8
+        );
+        entityHistory.content(content).contentContentType("application/json");
+        entityHistoryCompressor.compress(entityHistory);
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(entityHistory);
+        assertThat(insertedEntityHistory.getContentContentType()).isEqualTo("application/json;codec=deflate-dict-v1");
+
+        // Get the entityHistory
+        restEntityHistoryMockMvc
+            .perform(get(ENTITY_API_URL_ID, entityHistory.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contentContentType").value("application/json"))
+            .andExpect(jsonPath("$.content").value(Base64.getEncoder().encodeToString(content)));
+        assertThat(entityHistoryRepository.findById(entityHistory.getId()).orElseThrow().getContentContentType()).isEqualTo(
+            "application/json;codec=deflate-dict-v1"
+        );
+    }
+
     @Test
     @Transactional
     void getNonExistingEntityHistory() throws Exception {
@@ -314,6 +563,96 @@ class EntityHistoryResourceIT {
         assertPersistedEntityHistoryToMatchAllProperties(updatedEntityHistory);
     }
 
+    @Test
+    @Transactional
+    void putEntityHistoryWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedEntityHistory = entityHistoryRepository.saveAndFlush(entityHistory);
+        long version = entityHistory.getVersion();
+        String eTag = "\"" + version + "\"";
+
+        // Update the entityHistory in the version of the ETag
+        EntityHistory updatedEntityHistory = createUpdatedEntity().id(entityHistory.getId());
+        restEntityHistoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, entityHistory.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedEntityHistory))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+
+        // The entityHistory was modified since that ETag
+        restEntityHistoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, entityHistory.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(createEntity().id(entityHistory.getId())))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the EntityHistory in the database
+        assertPersistedEntityHistoryToMatchAllProperties(updatedEntityHistory);
+    }
+
+    @Test
+    void putEntityHistoryChangesEntityAsOf() throws Exception {
+        // Initialize the history of an entityA, committed so that rebuilding it caches its versions
+        long id = longCount.incrementAndGet();
+        ZonedDateTime created = ZonedDateTime.now(ZoneOffset.UTC).minusHours(2).truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime updated = created.plusHours(1);
+        EntityHistory snapshot = entityHistoryRepository.saveAndFlush(
+            new EntityHistory()
+                .userLogin(DEFAULT_USER_LOGIN)
+                .entityName(EntityA.class.getSimpleName())
+                .entityId(id)
+                .actionType(Action.CREATE)
+                .content(om.writeValueAsBytes(Map.of("id", id, "name", "AAAAAAAAAA")))
+                .contentContentType(EntityHistoryDiffEncoder.SNAPSHOT_CONTENT_TYPE)
+                .creationDate(created)
+        );
+        EntityHistory patch = entityHistoryRepository.saveAndFlush(
+            new EntityHistory()
+                .userLogin(DEFAULT_USER_LOGIN)
+                .entityName(EntityA.class.getSimpleName())
+                .entityId(id)
+                .actionType(Action.UPDATE)
+                .content(om.writeValueAsBytes(Map.of("name", "BBBBBBBBBB")))
+                .contentContentType(EntityHistoryDiffEncoder.MERGE_PATCH_CONTENT_TYPE)
+                .creationDate(updated)
+        );
+        try {
+            restEntityHistoryMockMvc
+                .perform(get("/api/entity-as/{id}", id).param("asOf", updated.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("BBBBBBBBBB"));
+
+            // Rewrite the patch
+            patch.setContent(om.writeValueAsBytes(Map.of("name", "CCCCCCCCCC")));
+            restEntityHistoryMockMvc
+                .perform(put(ENTITY_API_URL_ID, patch.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(patch)))
+                .andExpect(status().isOk());
+
+            // The entityA is rebuilt from the rewritten patch, not from the version cached before
+            restEntityHistoryMockMvc
+                .perform(get("/api/entity-as/{id}", id).param("asOf", updated.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("CCCCCCCCCC"));
+
+            // Delete the snapshot
+            restEntityHistoryMockMvc.perform(delete(ENTITY_API_URL_ID, snapshot.getId())).andExpect(status().isNoContent());
+
+            // The entityA can no longer be rebuilt
+            restEntityHistoryMockMvc
+                .perform(get("/api/entity-as/{id}", id).param("asOf", updated.toString()))
+                .andExpect(status().isNotFound());
+        } finally {
+            entityHistoryRepository.deleteAllById(List.of(snapshot.getId(), patch.getId()));
+        }
+    }
+
     @Test
     @Transactional
     void putNonExistingEntityHistory() throws Exception {